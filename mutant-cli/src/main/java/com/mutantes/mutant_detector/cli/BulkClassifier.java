@@ -0,0 +1,274 @@
+package com.mutantes.mutant_detector.cli;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//Clasificación masiva sin Spring, HTTP ni JPA: mapea el archivo en memoria, lo parte en
+//bloques que terminan en un fin de línea y clasifica los bloques en paralelo (un hilo por core).
+//Los veredictos se escriben en el orden del archivo: <línea>\t<MUTANT|HUMAN|INVALID>[\t<motivo>].
+//
+//Uso: mutant-classify <archivo> [--output=<archivo>|-] [--threads=N] [--chunk-mb=64]
+//El resumen (conteos, ratio y throughput) va a stderr.
+public final class BulkClassifier {
+
+    static final byte HUMAN = 0;
+    static final byte MUTANT = 1;
+    static final byte INVALID = 2;
+    private static final int PROBE_BYTES = 64 * 1024;
+
+    private final int threads;
+    private final long chunkBytes;
+
+    public BulkClassifier(int threads, long chunkBytes) {
+        this.threads = Math.max(1, threads);
+        this.chunkBytes = Math.max(1, chunkBytes);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path input = null;
+        String output = "-";
+        int threads = Runtime.getRuntime().availableProcessors();
+        long chunkMb = 64;
+        for (String arg : args) {
+            if (arg.startsWith("--output=")) {
+                output = arg.substring("--output=".length());
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--chunk-mb=")) {
+                chunkMb = Long.parseLong(arg.substring("--chunk-mb=".length()));
+            } else {
+                input = Path.of(arg);
+            }
+        }
+        if (input == null) {
+            System.err.println("Uso: mutant-classify <archivo> [--output=<archivo>|-] [--threads=N] [--chunk-mb=64]");
+            System.exit(2);
+        }
+
+        BulkClassifier classifier = new BulkClassifier(threads, chunkMb * 1024 * 1024);
+        Summary summary;
+        if ("-".equals(output)) {
+            summary = classifier.classify(input, System.out);
+        } else {
+            try (OutputStream out = Files.newOutputStream(Path.of(output))) {
+                summary = classifier.classify(input, out);
+            }
+        }
+        System.err.print(summary.format(threads));
+    }
+
+    public Summary classify(Path input, OutputStream output) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Summary summary = new Summary();
+        Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mutant-classify");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            summary.bytes = channel.size();
+            //Como máximo 2 bloques en vuelo por hilo: acota la memoria de resultados pendientes
+            Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+            Iterator<long[]> chunks = split(channel).iterator();
+            long firstLine = 1;
+            while (chunks.hasNext() || !inFlight.isEmpty()) {
+                while (chunks.hasNext() && inFlight.size() < threads * 2) {
+                    long[] chunk = chunks.next();
+                    inFlight.add(pool.submit(() -> classifyChunk(channel, chunk[0], chunk[1])));
+                }
+                firstLine = await(inFlight.poll()).write(out, firstLine, summary);
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    //Bloques [inicio, largo) de ~chunkBytes; cada uno termina justo después de un '\n' (o en EOF)
+    List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_BYTES);
+        long start = 0;
+        while (start < size) {
+            long end = nextLineStart(channel, Math.min(start + chunkBytes, size), size, probe);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Un registro supera el máximo mapeable (2 GB) cerca del byte " + start);
+            }
+            chunks.add(new long[]{start, end - start});
+            start = end;
+        }
+        return chunks;
+    }
+
+    //Primera posición >= from que empieza una línea
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long position = from - 1;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static ChunkResult classifyChunk(FileChannel channel, long start, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        int end = (int) length;
+        DnaLineParser parser = new DnaLineParser(buffer);
+        ChunkResult result = new ChunkResult();
+        int position = 0;
+        int line = 0;
+        while (position < end) {
+            int lineEnd = position;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (!isBlank(buffer, position, lineEnd)) {
+                try {
+                    result.add(line, parser.classify(position, lineEnd) ? MUTANT : HUMAN, null);
+                } catch (InvalidDnaException e) {
+                    result.add(line, INVALID, e.getMessage());
+                }
+            }
+            line++;
+            position = lineEnd + 1;
+        }
+        result.lines = line;
+        return result;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte c = buffer.get(i);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //Veredictos de un bloque, con la línea relativa al inicio del bloque
+    private static final class ChunkResult {
+        private int lines;
+        private int count;
+        private int[] lineNumbers = new int[1024];
+        private byte[] verdicts = new byte[1024];
+        private final List<String> messages = new ArrayList<>();
+
+        void add(int line, byte verdict, String message) {
+            if (count == verdicts.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, count * 2);
+                verdicts = Arrays.copyOf(verdicts, count * 2);
+            }
+            lineNumbers[count] = line;
+            verdicts[count++] = verdict;
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        //Escribe los veredictos y devuelve el número de la primera línea del bloque siguiente
+        long write(Writer out, long firstLine, Summary summary) throws IOException {
+            Iterator<String> invalid = messages.iterator();
+            for (int i = 0; i < count; i++) {
+                out.write(Long.toString(firstLine + lineNumbers[i]));
+                switch (verdicts[i]) {
+                    case MUTANT -> {
+                        out.write("\tMUTANT\n");
+                        summary.mutants++;
+                    }
+                    case HUMAN -> {
+                        out.write("\tHUMAN\n");
+                        summary.humans++;
+                    }
+                    default -> {
+                        out.write("\tINVALID\t");
+                        out.write(invalid.next());
+                        out.write('\n');
+                        summary.invalid++;
+                    }
+                }
+            }
+            return firstLine + lines;
+        }
+    }
+
+    public static final class Summary {
+        private long mutants;
+        private long humans;
+        private long invalid;
+        private long bytes;
+        private long elapsedNanos;
+
+        public long getMutants() {
+            return mutants;
+        }
+
+        public long getHumans() {
+            return humans;
+        }
+
+        public long getInvalid() {
+            return invalid;
+        }
+
+        String format(int threads) {
+            double seconds = elapsedNanos / 1e9;
+            double megabytes = bytes / (1024.0 * 1024.0);
+            return String.format("Registros: %d (mutantes: %d, humanos: %d, inválidos: %d)%n"
+                            + "Ratio mutantes/humanos: %.4f%n"
+                            + "Leídos %.1f MB en %.2f s (%.1f MB/s) con %d hilos%n",
+                    mutants + humans + invalid, mutants, humans, invalid,
+                    humans == 0 ? 0.0 : (double) mutants / humans,
+                    megabytes, seconds, seconds > 0 ? megabytes / seconds : 0, threads);
+        }
+    }
+}
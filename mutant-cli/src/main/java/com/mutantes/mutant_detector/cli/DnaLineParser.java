@@ -0,0 +1,183 @@
+package com.mutantes.mutant_detector.cli;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.service.StreamingMutantDetector;
+
+import java.nio.ByteBuffer;
+
+//Interpreta un registro (una línea) directamente sobre el buffer mapeado, sin crear Strings:
+//  NDJSON: {"dna":["ATGCGA","CAGTGC",...], ...}  (el resto de los campos se ignora)
+//  texto:  ATGCGA,CAGTGC,...  (filas separadas por comas, punto y coma o espacios)
+//Cada fila va directo a StreamingMutantDetector, que valida bases y forma NxN.
+//Una instancia por hilo (reutiliza el buffer de fila).
+class DnaLineParser {
+
+    private final ByteBuffer buffer;
+    private byte[] row = new byte[256];
+
+    DnaLineParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    //Veredicto del registro en [start, end); InvalidDnaException si es inválido
+    boolean classify(int start, int end) {
+        StreamingMutantDetector detector = new StreamingMutantDetector();
+        int i = skipWhitespace(start, end);
+        if (i < end && buffer.get(i) == '{') {
+            parseObject(i, end, detector);
+        } else {
+            parsePlain(i, end, detector);
+        }
+        return detector.finish();
+    }
+
+    private void parsePlain(int i, int end, StreamingMutantDetector detector) {
+        while (i < end) {
+            while (i < end && isSeparator(buffer.get(i))) {
+                i++;
+            }
+            int rowStart = i;
+            while (i < end && !isSeparator(buffer.get(i))) {
+                i++;
+            }
+            if (i > rowStart) {
+                row(rowStart, i, detector);
+            }
+        }
+    }
+
+    private void parseObject(int i, int end, StreamingMutantDetector detector) {
+        boolean found = false;
+        i = skipWhitespace(i + 1, end);
+        if (i < end && buffer.get(i) == '}') {
+            i = end;
+        }
+        while (i < end) {
+            expect(i, end, '"');
+            int keyStart = i + 1;
+            int keyEnd = endOfString(i, end);
+            boolean isDna = keyEnd - keyStart == 3 && buffer.get(keyStart) == 'd'
+                    && buffer.get(keyStart + 1) == 'n' && buffer.get(keyStart + 2) == 'a';
+            i = skipWhitespace(keyEnd + 1, end);
+            expect(i, end, ':');
+            i = skipWhitespace(i + 1, end);
+            if (isDna) {
+                i = parseRows(i, end, detector);
+                found = true;
+            } else {
+                i = skipValue(i, end);
+            }
+            i = skipWhitespace(i, end);
+            if (i < end && buffer.get(i) == ',') {
+                i = skipWhitespace(i + 1, end);
+                continue;
+            }
+            expect(i, end, '}');
+            break;
+        }
+        if (!found) {
+            throw new InvalidDnaException("El registro no tiene el campo 'dna'");
+        }
+    }
+
+    //Array de strings: cada string es una fila
+    private int parseRows(int i, int end, StreamingMutantDetector detector) {
+        if (i >= end || buffer.get(i) != '[') {
+            throw new InvalidDnaException("El campo 'dna' debe ser un array de strings");
+        }
+        i = skipWhitespace(i + 1, end);
+        if (i < end && buffer.get(i) == ']') {
+            return i + 1;
+        }
+        while (true) {
+            if (i >= end || buffer.get(i) != '"') {
+                throw new InvalidDnaException("El campo 'dna' debe ser un array de strings");
+            }
+            int rowEnd = endOfString(i, end);
+            row(i + 1, rowEnd, detector);
+            i = skipWhitespace(rowEnd + 1, end);
+            if (i < end && buffer.get(i) == ',') {
+                i = skipWhitespace(i + 1, end);
+            } else {
+                expect(i, end, ']');
+                return i + 1;
+            }
+        }
+    }
+
+    private void row(int start, int end, StreamingMutantDetector detector) {
+        int length = end - start;
+        if (row.length < length) {
+            row = new byte[Math.max(length, row.length * 2)];
+        }
+        buffer.get(start, row, 0, length);
+        detector.accept(row, 0, length);
+    }
+
+    //i apunta a la comilla de apertura; devuelve la posición de la de cierre
+    private int endOfString(int i, int end) {
+        for (int j = i + 1; j < end; j++) {
+            byte c = buffer.get(j);
+            if (c == '\\') {
+                j++;
+            } else if (c == '"') {
+                return j;
+            }
+        }
+        throw malformed();
+    }
+
+    //Saltea un valor JSON cualquiera (string, objeto, array o primitivo)
+    private int skipValue(int i, int end) {
+        if (i >= end) {
+            throw malformed();
+        }
+        byte c = buffer.get(i);
+        if (c == '"') {
+            return endOfString(i, end) + 1;
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            for (int j = i; j < end; j++) {
+                byte b = buffer.get(j);
+                if (b == '"') {
+                    j = endOfString(j, end);
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return j + 1;
+                }
+            }
+            throw malformed();
+        }
+        while (i < end && c != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+            c = ++i < end ? buffer.get(i) : 0;
+        }
+        return i;
+    }
+
+    private void expect(int i, int end, char expected) {
+        if (i >= end || buffer.get(i) != expected) {
+            throw malformed();
+        }
+    }
+
+    private int skipWhitespace(int i, int end) {
+        while (i < end && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static boolean isSeparator(byte c) {
+        return c == ',' || c == ';' || isWhitespace(c);
+    }
+
+    private static InvalidDnaException malformed() {
+        return new InvalidDnaException("Registro JSON mal formado");
+    }
+}
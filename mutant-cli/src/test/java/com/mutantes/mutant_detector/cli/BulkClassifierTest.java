@@ -0,0 +1,98 @@
+package com.mutantes.mutant_detector.cli;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkClassifierTest {
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    @TempDir
+    Path dir;
+
+    private String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int r = 0; r < n; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < n; c++) {
+                row.append("ACGT".charAt(random.nextInt(4)));
+            }
+            dna[r] = row.toString();
+        }
+        return dna;
+    }
+
+    private String expected(String[] dna) {
+        try {
+            return mutantDetector.isMutant(dna) ? "MUTANT" : "HUMAN";
+        } catch (InvalidDnaException e) {
+            return "INVALID";
+        }
+    }
+
+    @Test
+    @DisplayName("1. Bloques chicos en paralelo: mismos veredictos que MutantDetector, en orden de línea")
+    void testMatchesDetectorAcrossChunks() throws Exception {
+        Random random = new Random(5);
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int line = 1; line <= 500; line++) {
+            String[] dna = randomDna(random, 4 + random.nextInt(12));
+            switch (line % 5) {
+                case 0 -> {
+                    input.append('\n'); // Línea vacía: sin veredicto, pero cuenta para la numeración
+                    continue;
+                }
+                case 1 -> dna[0] = "AXGT"; // Inválido
+                default -> { }
+            }
+            input.append(line % 2 == 0
+                    ? "{\"id\":\"r" + line + "\",\"meta\":{\"tags\":[\"]\"]},\"dna\":[\"" + String.join("\",\"", dna) + "\"]}"
+                    : String.join(",", dna));
+            input.append(line % 3 == 0 ? "\r\n" : "\n");
+            expected.add(line + "\t" + expected(dna));
+        }
+        Path file = dir.resolve("dna.ndjson");
+        Files.writeString(file, input, StandardCharsets.US_ASCII);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BulkClassifier.Summary summary = new BulkClassifier(4, 100).classify(file, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(expected.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith(expected.get(i)), lines[i] + " != " + expected.get(i));
+        }
+        assertEquals(expected.size(), summary.getMutants() + summary.getHumans() + summary.getInvalid());
+        assertEquals(expected.stream().filter(line -> line.endsWith("INVALID")).count(), summary.getInvalid());
+    }
+
+    @Test
+    @DisplayName("2. Registros mal formados o sin 'dna' se informan como inválidos con el motivo")
+    void testMalformedRecords() throws Exception {
+        Path file = dir.resolve("bad.ndjson");
+        Files.writeString(file, "{\"dna\":[\"ATGC\",\"CAGT\"\n{\"otro\":1}\n{\"dna\":[]}\nAAAA,CCCC,TTTT,GGGG", StandardCharsets.US_ASCII);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BulkClassifier(2, 1024).classify(file, output);
+
+        assertEquals(List.of(
+                "1\tINVALID\tRegistro JSON mal formado",
+                "2\tINVALID\tEl registro no tiene el campo 'dna'",
+                "3\tINVALID\tEl array de ADN no puede estar vacío",
+                "4\tMUTANT"), List.of(output.toString(StandardCharsets.UTF_8).split("\n")));
+    }
+}
@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class DetectionTimeoutException extends RuntimeException {
+    public DetectionTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Ejecución del algoritmo de detección
+@Name("com.mutantes.Detection")
+@Label("Detection")
+@Category({"Mutant Detector", "POST /mutant"})
+@StackTrace(false)
+public class DetectionEvent extends Event {
+    @Label("N")
+    public int n;
+
+    @Label("Strategy")
+    @Description("sequential, parallel o batched")
+    public String strategy;
+
+    @Label("Early Exit Row")
+    @Description("Fila en la que se encontró la segunda secuencia (-1 si no hubo corte temprano o no se conoce)")
+    public int earlyExitRow = -1;
+
+    @Label("Mutant")
+    public boolean mutant;
+}
@@ -0,0 +1,20 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Validación de forma NxN y caracteres de un String[] de ADN
+@Name("com.mutantes.DnaValidation")
+@Label("DNA Validation")
+@Category({"Mutant Detector", "POST /mutant"})
+@StackTrace(false)
+public class DnaValidationEvent extends Event {
+    @Label("N")
+    public int n;
+
+    @Label("Valid")
+    public boolean valid;
+}
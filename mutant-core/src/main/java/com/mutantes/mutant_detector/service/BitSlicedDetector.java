@@ -0,0 +1,111 @@
+package com.mutantes.mutant_detector.service;
+
+import java.util.List;
+
+//Motor "bit-sliced": transpone hasta 64 matrices del mismo N a bitplanes por celda
+//(bit i de cada long = matriz i), así cada comparación de bases evalúa las 64 matrices
+//a la vez con operaciones de palabra. Las matrices deben venir validadas.
+public final class BitSlicedDetector {
+
+    public static final int LANES = Long.SIZE;
+    private static final int TAMANIO_MINIMO = 4;
+
+    private BitSlicedDetector() {
+    }
+
+    //Devuelve una máscara con el bit i encendido si la matriz i es mutante
+    public static long detect(List<byte[][]> batch) {
+        int lanes = batch.size();
+        if (lanes == 0 || lanes > LANES) {
+            throw new IllegalArgumentException("El lote debe tener entre 1 y " + LANES + " matrices");
+        }
+        int n = batch.get(0).length;
+        long all = lanes == LANES ? -1L : (1L << lanes) - 1;
+        if (n < TAMANIO_MINIMO) {
+            return 0L;
+        }
+
+        // Dos bitplanes por celda: código de 2 bits de la base en cada carril
+        long[] low = new long[n * n];
+        long[] high = new long[n * n];
+        for (int lane = 0; lane < lanes; lane++) {
+            byte[][] matrix = batch.get(lane);
+            if (matrix.length != n) {
+                throw new IllegalArgumentException("Todas las matrices del lote deben tener el mismo N");
+            }
+            long bit = 1L << lane;
+            for (int r = 0; r < n; r++) {
+                byte[] row = matrix[r];
+                for (int c = 0; c < n; c++) {
+                    int code = code(row[c]);
+                    int idx = r * n + c;
+                    if ((code & 1) != 0) low[idx] |= bit;
+                    if ((code & 2) != 0) high[idx] |= bit;
+                }
+            }
+        }
+
+        // Igualdad entre celdas vecinas por dirección (carriles donde ambas bases coinciden)
+        long[] eqRight = new long[n * n];
+        long[] eqDown = new long[n * n];
+        long[] eqDownRight = new long[n * n];
+        long[] eqUpRight = new long[n * n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                int idx = r * n + c;
+                if (c + 1 < n) eqRight[idx] = equal(low, high, idx, idx + 1);
+                if (r + 1 < n) eqDown[idx] = equal(low, high, idx, idx + n);
+                if (r + 1 < n && c + 1 < n) eqDownRight[idx] = equal(low, high, idx, idx + n + 1);
+                if (r > 0 && c + 1 < n) eqUpRight[idx] = equal(low, high, idx, idx - n + 1);
+            }
+        }
+
+        // one: carriles con al menos 1 secuencia; two: carriles con 2 o más (mutantes)
+        long one = 0L;
+        long two = 0L;
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                int idx = r * n + c;
+                long hit;
+
+                // Horizontal →
+                if (c <= n - TAMANIO_MINIMO) {
+                    hit = eqRight[idx] & eqRight[idx + 1] & eqRight[idx + 2];
+                    two |= one & hit;
+                    one |= hit;
+                }
+                // Vertical ↓
+                if (r <= n - TAMANIO_MINIMO) {
+                    hit = eqDown[idx] & eqDown[idx + n] & eqDown[idx + 2 * n];
+                    two |= one & hit;
+                    one |= hit;
+                }
+                // Diagonal ↘
+                if (r <= n - TAMANIO_MINIMO && c <= n - TAMANIO_MINIMO) {
+                    hit = eqDownRight[idx] & eqDownRight[idx + n + 1] & eqDownRight[idx + 2 * (n + 1)];
+                    two |= one & hit;
+                    one |= hit;
+                }
+                // Diagonal ↗
+                if (r >= TAMANIO_MINIMO - 1 && c <= n - TAMANIO_MINIMO) {
+                    hit = eqUpRight[idx] & eqUpRight[idx - n + 1] & eqUpRight[idx - 2 * (n - 1)];
+                    two |= one & hit;
+                    one |= hit;
+                }
+                if ((two & all) == all) {
+                    return all;
+                }
+            }
+        }
+        return two & all;
+    }
+
+    private static long equal(long[] low, long[] high, int a, int b) {
+        return ~((low[a] ^ low[b]) | (high[a] ^ high[b]));
+    }
+
+    //A=0x41, C=0x43, G=0x47, T=0x54: los bits 1-2 del ASCII ya son distintos para cada base
+    private static int code(byte base) {
+        return (base >> 1) & 3;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mutantes.mutant_detector.service;
+
+//Cancelación cooperativa de una detección: los ciclos de búsqueda la consultan en cada fila
+public class CancellationToken {
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    public static CancellationToken withDeadline(Long deadlineNanos) {
+        return deadlineNanos == null
+                ? new CancellationToken(0, false)
+                : new CancellationToken(deadlineNanos, true);
+    }
+
+    //true si hay que dejar de buscar; al vencer el deadline queda cancelado para todos los workers
+    public boolean shouldStop() {
+        if (cancelled) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos > 0) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    public long remainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+}
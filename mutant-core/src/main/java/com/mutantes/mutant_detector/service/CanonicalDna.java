@@ -0,0 +1,205 @@
+package com.mutantes.mutant_detector.service;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+//Forma canónica de una matriz de ADN: el veredicto no cambia con las 8 rotaciones/reflexiones
+//del cuadrado ni con una permutación de las letras, así que matrices equivalentes comparten hash.
+//Se renombran las bases por orden de aparición (A, C, G, T) y se elige la menor de las 8 orientaciones.
+//El resultado es en sí una matriz válida equivalente a la original.
+//Para hashear no hace falta materializarla: digest() elige la orientación comparando sobre la matriz
+//original y pasa al digest las filas canónicas de a una (memoria extra O(N)).
+public final class CanonicalDna {
+
+    private static final int ORIENTACIONES = 8;
+    private static final byte[] LETRAS = {'A', 'C', 'G', 'T'};
+
+    private CanonicalDna() {
+    }
+
+    //Acceso de solo lectura a la matriz original, sin copiarla a byte[][]
+    private interface Grid {
+        int size();
+
+        int cell(int i, int j);
+    }
+
+    //Devuelve null si la matriz no es NxN de A/C/G/T (la validación la hace MutantDetector)
+    public static byte[][] canonicalize(byte[][] matrix) {
+        if (!isValid(matrix)) {
+            return null;
+        }
+        Grid grid = grid(matrix);
+        return materialize(grid, bestOrientation(grid));
+    }
+
+    //Pasa al digest las filas de la forma canónica (mismo resultado que hashear canonicalize()).
+    //Devuelve false sin tocar el digest si la matriz no es NxN de A/C/G/T
+    public static boolean digest(byte[][] matrix, MessageDigest digest) {
+        if (!isValid(matrix)) {
+            return false;
+        }
+        Grid grid = grid(matrix);
+        digestRows(grid, bestOrientation(grid), digest);
+        return true;
+    }
+
+    //Igual que digest(byte[][]) leyendo las filas directamente de los Strings
+    public static boolean digest(String[] dna, MessageDigest digest) {
+        if (!isValid(dna)) {
+            return false;
+        }
+        Grid grid = grid(dna);
+        digestRows(grid, bestOrientation(grid), digest);
+        return true;
+    }
+
+    // Las orientaciones se comparan celda a celda sin materializarlas; corta en la primera diferencia
+    private static int bestOrientation(Grid grid) {
+        int best = 0;
+        for (int orientation = 1; orientation < ORIENTACIONES; orientation++) {
+            if (compare(grid, orientation, best) < 0) {
+                best = orientation;
+            }
+        }
+        return best;
+    }
+
+    private static int compare(Grid m, int a, int b) {
+        int n = m.size();
+        int[] labelsA = newLabels();
+        int[] labelsB = newLabels();
+        int nextA = 0;
+        int nextB = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int x = at(m, a, i, j);
+                int y = at(m, b, i, j);
+                if (labelsA[x] < 0) labelsA[x] = nextA++;
+                if (labelsB[y] < 0) labelsB[y] = nextB++;
+                if (labelsA[x] != labelsB[y]) {
+                    return labelsA[x] - labelsB[y];
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static byte[][] materialize(Grid m, int orientation) {
+        int n = m.size();
+        int[] labels = newLabels();
+        int[] next = {0};
+        byte[][] result = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            result[i] = new byte[n];
+            canonicalRow(m, orientation, i, labels, next, result[i]);
+        }
+        return result;
+    }
+
+    //Reusa un único buffer de fila: nunca hay más de una fila canónica en memoria
+    private static void digestRows(Grid m, int orientation, MessageDigest digest) {
+        int n = m.size();
+        int[] labels = newLabels();
+        int[] next = {0};
+        byte[] row = new byte[n];
+        for (int i = 0; i < n; i++) {
+            canonicalRow(m, orientation, i, labels, next, row);
+            digest.update(row);
+        }
+    }
+
+    private static void canonicalRow(Grid m, int orientation, int i, int[] labels, int[] next, byte[] row) {
+        for (int j = 0; j < row.length; j++) {
+            int base = at(m, orientation, i, j);
+            if (labels[base] < 0) labels[base] = next[0]++;
+            row[j] = LETRAS[labels[base]];
+        }
+    }
+
+    //Celda (i, j) de la matriz vista en la orientación indicada
+    private static int at(Grid m, int orientation, int i, int j) {
+        int k = m.size() - 1;
+        return switch (orientation) {
+            case 0 -> m.cell(i, j);
+            case 1 -> m.cell(j, k - i);         // rotación 90°
+            case 2 -> m.cell(k - i, k - j);     // rotación 180°
+            case 3 -> m.cell(k - j, i);         // rotación 270°
+            case 4 -> m.cell(i, k - j);         // espejo horizontal
+            case 5 -> m.cell(k - i, j);         // espejo vertical
+            case 6 -> m.cell(j, i);             // transpuesta
+            default -> m.cell(k - j, k - i);    // antitranspuesta
+        } & 0xff;
+    }
+
+    private static Grid grid(byte[][] matrix) {
+        return new Grid() {
+            @Override
+            public int size() {
+                return matrix.length;
+            }
+
+            @Override
+            public int cell(int i, int j) {
+                return matrix[i][j];
+            }
+        };
+    }
+
+    private static Grid grid(String[] dna) {
+        return new Grid() {
+            @Override
+            public int size() {
+                return dna.length;
+            }
+
+            @Override
+            public int cell(int i, int j) {
+                return dna[i].charAt(j);
+            }
+        };
+    }
+
+    private static int[] newLabels() {
+        int[] labels = new int[256];
+        Arrays.fill(labels, -1);
+        return labels;
+    }
+
+    private static boolean isValid(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            return false;
+        }
+        int n = matrix.length;
+        for (byte[] row : matrix) {
+            if (row == null || row.length != n) {
+                return false;
+            }
+            for (byte base : row) {
+                if (base != 'A' && base != 'C' && base != 'G' && base != 'T') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValid(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            return false;
+        }
+        int n = dna.length;
+        for (String row : dna) {
+            if (row == null || row.length() != n) {
+                return false;
+            }
+            for (int j = 0; j < n; j++) {
+                char base = row.charAt(j);
+                if (base != 'A' && base != 'C' && base != 'G' && base != 'T') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
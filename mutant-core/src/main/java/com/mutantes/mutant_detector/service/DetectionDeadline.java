@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.service;
+
+//Deadline de detección del request actual (en System.nanoTime()).
+//Lo fija DetectionDeadlineFilter para POST /mutant, /mutant/stream y /motifs; sin deadline la detección no tiene límite.
+public final class DetectionDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private DetectionDeadline() {
+    }
+
+    public static void set(long deadlineNanos) {
+        CURRENT.set(deadlineNanos);
+    }
+
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mutantes.mutant_detector.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//Agrupa requests concurrentes de matrices chicas con el mismo N durante una ventana corta
+//y las resuelve juntas con BitSlicedDetector (hasta 64 por lote).
+//En la aplicación se configura con mutant.batching.* (ver DetectionExecutorConfig)
+public class MicroBatcher {
+
+    private final boolean enabled;
+    private final long windowMicros;
+    private final int maxN;
+    private final ScheduledExecutorService flusher;
+
+    //Lote abierto por N (protegido por el lock de la instancia)
+    private final Map<Integer, Batch> pending = new HashMap<>();
+
+    public MicroBatcher(boolean enabled, long windowMicros, int maxN) {
+        this.enabled = enabled;
+        this.windowMicros = windowMicros;
+        this.maxN = maxN;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mutant-micro-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean accepts(int n) {
+        return enabled && n <= maxN;
+    }
+
+    //El lote se procesa al cumplirse la ventana o al llenarse (en el hilo que lo completó)
+    public CompletableFuture<Boolean> submit(byte[][] matrix) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            int n = matrix.length;
+            Batch batch = pending.get(n);
+            if (batch == null) {
+                Batch opened = new Batch();
+                pending.put(n, opened);
+                batch = opened;
+                flusher.schedule(() -> flush(n, opened), windowMicros, TimeUnit.MICROSECONDS);
+            }
+            batch.matrices.add(matrix);
+            batch.results.add(result);
+            if (batch.matrices.size() == BitSlicedDetector.LANES) {
+                pending.remove(n);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            run(full);
+        }
+        return result;
+    }
+
+    private void flush(int n, Batch batch) {
+        synchronized (this) {
+            //Si ya se despachó por estar lleno, el timer no hace nada
+            if (pending.get(n) != batch) {
+                return;
+            }
+            pending.remove(n);
+        }
+        run(batch);
+    }
+
+    private void run(Batch batch) {
+        try {
+            long mutants = BitSlicedDetector.detect(batch.matrices);
+            for (int lane = 0; lane < batch.results.size(); lane++) {
+                batch.results.get(lane).complete(((mutants >>> lane) & 1L) != 0);
+            }
+        } catch (RuntimeException e) {
+            batch.results.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    private static final class Batch {
+        private final List<byte[][]> matrices = new ArrayList<>(BitSlicedDetector.LANES);
+        private final List<CompletableFuture<Boolean>> results = new ArrayList<>(BitSlicedDetector.LANES);
+    }
+}
@@ -0,0 +1,141 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.validation.DnaBases;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Autómata de Aho-Corasick sobre el alfabeto {A, C, G, T}.
+//Las transiciones de fallo se resuelven al construir (DFA completo), así cada base
+//cuesta un acceso a la tabla sin importar cuántos motivos se busquen.
+public class MotifAutomaton {
+
+    private static final int ALPHABET = 4;
+    //Base ASCII -> código 0..3 (-1 si no es una base válida)
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        CODES['A'] = 0;
+        CODES['C'] = 1;
+        CODES['G'] = 2;
+        CODES['T'] = 3;
+    }
+
+    private final List<String> motifs;
+    private final int[] motifLengths;
+    private final int minLength;
+    //transitions[state * 4 + code] = próximo estado
+    private final int[] transitions;
+    //Motivos que terminan en cada estado (incluye los heredados por la cadena de fallos)
+    private final int[][] outputs;
+
+    public MotifAutomaton(List<String> motifs) {
+        if (motifs == null || motifs.isEmpty()) {
+            throw new InvalidDnaException("Debe indicarse al menos un motivo");
+        }
+        this.motifs = List.copyOf(motifs);
+        this.motifLengths = new int[motifs.size()];
+        int states = 1;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < motifs.size(); i++) {
+            String motif = motifs.get(i);
+            if (motif == null || motif.isEmpty()) {
+                throw new InvalidDnaException("Los motivos no pueden estar vacíos");
+            }
+            if (!DnaBases.isValidRow(motif)) {
+                throw new InvalidDnaException("El motivo " + motif + " contiene caracteres inválidos (Solo se permite A, T, C, G)");
+            }
+            motifLengths[i] = motif.length();
+            min = Math.min(min, motif.length());
+            states += motif.length();
+        }
+        this.minLength = min;
+
+        //1. Trie
+        int[] trie = new int[states * ALPHABET];
+        Arrays.fill(trie, -1);
+        List<List<Integer>> terminal = new ArrayList<>();
+        terminal.add(new ArrayList<>());
+        int used = 1;
+        for (int i = 0; i < motifs.size(); i++) {
+            int state = 0;
+            for (int k = 0; k < motifs.get(i).length(); k++) {
+                int slot = state * ALPHABET + CODES[motifs.get(i).charAt(k)];
+                if (trie[slot] < 0) {
+                    trie[slot] = used++;
+                    terminal.add(new ArrayList<>());
+                }
+                state = trie[slot];
+            }
+            terminal.get(state).add(i);
+        }
+
+        //2. Fallos por BFS, completando las transiciones faltantes y acumulando salidas
+        this.transitions = Arrays.copyOf(trie, used * ALPHABET);
+        this.outputs = new int[used][];
+        int[] fail = new int[used];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = toArray(terminal.get(0));
+        for (int code = 0; code < ALPHABET; code++) {
+            int child = transitions[code];
+            if (child < 0) {
+                transitions[code] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] own = toArray(terminal.get(state));
+            int[] inherited = outputs[fail[state]];
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            outputs[state] = merged;
+            for (int code = 0; code < ALPHABET; code++) {
+                int slot = state * ALPHABET + code;
+                int child = transitions[slot];
+                if (child < 0) {
+                    transitions[slot] = transitions[fail[state] * ALPHABET + code];
+                } else {
+                    fail[child] = transitions[fail[state] * ALPHABET + code];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    //Estado siguiente para una base ASCII ya validada
+    public int next(int state, byte base) {
+        return transitions[state * ALPHABET + CODES[base]];
+    }
+
+    //Índices de los motivos que terminan en la base recién consumida
+    public int[] matches(int state) {
+        return outputs[state];
+    }
+
+    public int motifCount() {
+        return motifs.size();
+    }
+
+    public String motif(int index) {
+        return motifs.get(index);
+    }
+
+    public int motifLength(int index) {
+        return motifLengths[index];
+    }
+
+    public int minLength() {
+        return minLength;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
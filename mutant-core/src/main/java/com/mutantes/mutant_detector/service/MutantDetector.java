@@ -0,0 +1,296 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.jfr.DetectionEvent;
+import com.mutantes.mutant_detector.jfr.DnaValidationEvent;
+import com.mutantes.mutant_detector.validation.DnaBases;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+//Sin dependencias de Spring (módulo mutant-core): la aplicación lo registra como bean en DetectionExecutorConfig
+public class MutantDetector {
+
+    private static final int TAMANIO_MINIMO = 4;
+    private static final int PARALELIZACION = 20;
+
+    //Pool donde corre la iteración paralela (dedicado en la aplicación, común en tests)
+    private final ForkJoinPool detectionPool;
+    //Agrupa matrices chicas concurrentes para el motor bit-sliced (null = deshabilitado)
+    private final MicroBatcher microBatcher;
+
+    public MutantDetector() {
+        this(ForkJoinPool.commonPool(), null);
+    }
+
+    public MutantDetector(ForkJoinPool detectionPool, MicroBatcher microBatcher) {
+        this.detectionPool = detectionPool;
+        this.microBatcher = microBatcher;
+    }
+
+    public boolean isMutant(String[] dna) {
+        if (dna == null) {
+            throw new InvalidDnaException("El array de ADN no puede ser nulo");
+        }
+        if (dna.length == 0) {
+            throw new InvalidDnaException("El array de ADN no puede estar vacío");
+        }
+
+        int n = dna.length;
+
+        // 2. Validación Estricta: Matriz NxN y Caracteres Válidos
+        DnaValidationEvent validation = new DnaValidationEvent();
+        validation.begin();
+        validation.n = n;
+        try {
+            validate(dna, n);
+            validation.valid = true;
+        } finally {
+            validation.commit();
+        }
+        // Convertimos la matriz de String a byte[][] (una base ASCII por byte) por eficiencia
+        byte[][] matrix = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            matrix[i] = dna[i].getBytes(StandardCharsets.US_ASCII);
+        }
+
+        return detect(matrix);
+    }
+
+    private void validate(String[] dna, int n) {
+        for (String row : dna) {
+            if (row == null) {
+                throw new InvalidDnaException("El ADN contiene filas nulas");
+            }
+            if (row.length() != n) {
+                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+            }
+            if (!DnaBases.isValidRow(row)) {
+                throw new InvalidDnaException("El ADN contiene caracteres inválidos (Solo se permite A, T, C, G)");
+            }
+        }
+    }
+
+    //Variante para ADN ya decodificado (formato binario): una base ASCII por byte.
+    //Las bases ya vienen validadas por el decodificador, solo se verifica la forma NxN.
+    public boolean isMutantMatrix(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new InvalidDnaException("El array de ADN no puede estar vacío");
+        }
+        int n = matrix.length;
+        for (byte[] row : matrix) {
+            if (row == null || row.length != n) {
+                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+            }
+        }
+        return detect(matrix);
+    }
+
+    //Punto de extensión: la aplicación lo redefine para repartir matrices grandes entre workers
+    protected boolean detect(byte[][] matrix) {
+        //Deadline del request actual (si lo hay) + cancelación cooperativa
+        CancellationToken token = CancellationToken.withDeadline(DetectionDeadline.current());
+        //Evento JFR: si la grabación no está activa commit() no hace nada
+        DetectionEvent event = new DetectionEvent();
+        event.begin();
+        event.n = matrix.length;
+
+        // Selección de estrategia según tamaño
+        boolean result;
+        if (microBatcher != null && microBatcher.accepts(matrix.length)) {
+            event.strategy = "batched";
+            result = isMutantBatched(matrix, token);
+        } else if (matrix.length < PARALELIZACION) {
+            event.strategy = "sequential";
+            result = isMutantSequential(matrix, token, event);
+        } else {
+            event.strategy = "parallel";
+            result = isMutantParallel(matrix, token);
+        }
+        event.mutant = result;
+        event.commit();
+        return result;
+    }
+
+    //ITERACION SECUENCIAL (para matrices chicas)
+    private boolean isMutantSequential(byte[][] matrix, CancellationToken token, DetectionEvent event) {
+        int n = matrix.length;
+        int sequences = 0;
+
+        for (int row = 0; row < n; row++) {
+            if (token.shouldStop()) {
+                throw timeout();
+            }
+            for (int col = 0; col < n; col++) {
+
+                // Horizontal →
+                if (col <= n - TAMANIO_MINIMO &&
+                        checkHorizontal(matrix, row, col)) {
+                    if (++sequences > 1) return earlyExit(event, row);
+                }
+
+                // Vertical ↓
+                if (row <= n - TAMANIO_MINIMO &&
+                        checkVertical(matrix, row, col)) {
+                    if (++sequences > 1) return earlyExit(event, row);
+                }
+
+                // Diagonal ↘
+                if (row <= n - TAMANIO_MINIMO &&
+                        col <= n - TAMANIO_MINIMO &&
+                        checkDiagonalDown(matrix, row, col)) {
+                    if (++sequences > 1) return earlyExit(event, row);
+                }
+
+                // Diagonal ↗
+                if (row >= TAMANIO_MINIMO - 1 &&
+                        col <= n - TAMANIO_MINIMO &&
+                        checkDiagonalUp(matrix, row, col)) {
+                    if (++sequences > 1) return earlyExit(event, row);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    //LOTE BIT-SLICED (para matrices chicas con tráfico concurrente)
+    private boolean isMutantBatched(byte[][] matrix, CancellationToken token) {
+        return await(microBatcher.submit(matrix), token);
+    }
+
+    //ITERACION PARALELA (para matrices grandes)
+    //Corre en el pool dedicado y espera como máximo hasta el deadline del request
+    private boolean isMutantParallel(byte[][] matrix, CancellationToken token) {
+        ForkJoinTask<Boolean> task = detectionPool.submit(() -> scanParallel(matrix, token));
+        boolean result = await(task, token);
+        //Si un worker detectó el deadline antes de encontrar 2 secuencias, la búsqueda quedó incompleta
+        if (!result && token.isCancelled()) {
+            throw timeout();
+        }
+        return result;
+    }
+
+    //Espera el resultado como máximo hasta el deadline del request
+    private boolean await(Future<Boolean> task, CancellationToken token) {
+        try {
+            return token.hasDeadline()
+                    ? task.get(Math.max(token.remainingNanos(), 0), TimeUnit.NANOSECONDS)
+                    : task.get();
+        } catch (TimeoutException e) {
+            token.cancel(); //Los workers lo ven en la próxima fila y liberan el pool
+            task.cancel(true);
+            throw timeout();
+        } catch (InterruptedException e) {
+            token.cancel();
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw timeout();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean scanParallel(byte[][] matrix, CancellationToken token) {
+        final int n = matrix.length;
+        final AtomicInteger sequences = new AtomicInteger(0);
+
+        IntStream.range(0, n)
+                .parallel()
+                .anyMatch(row -> {
+
+                    // Early termination global (también corta si se canceló)
+                    if (sequences.get() > 1 || token.shouldStop()) return true;
+
+                    for (int col = 0; col < n; col++) {
+
+                        if (sequences.get() > 1) return true;
+
+                        // Horizontal →
+                        if (col <= n - TAMANIO_MINIMO &&
+                                checkHorizontal(matrix, row, col)) {
+                            if (sequences.incrementAndGet() > 1) return true;
+                        }
+
+                        // Vertical ↓
+                        if (row <= n - TAMANIO_MINIMO &&
+                                checkVertical(matrix, row, col)) {
+                            if (sequences.incrementAndGet() > 1) return true;
+                        }
+
+                        // Diagonal ↘
+                        if (row <= n - TAMANIO_MINIMO &&
+                                col <= n - TAMANIO_MINIMO &&
+                                checkDiagonalDown(matrix, row, col)) {
+                            if (sequences.incrementAndGet() > 1) return true;
+                        }
+
+                        // Diagonal ↗
+                        if (row >= TAMANIO_MINIMO - 1 &&
+                                col <= n - TAMANIO_MINIMO &&
+                                checkDiagonalUp(matrix, row, col)) {
+                            if (sequences.incrementAndGet() > 1) return true;
+                        }
+                    }
+
+                    return sequences.get() > 1;
+                });
+
+        return sequences.get() > 1;
+    }
+
+    private static boolean earlyExit(DetectionEvent event, int row) {
+        event.earlyExitRow = row;
+        return true;
+    }
+
+    private DetectionTimeoutException timeout() {
+        return new DetectionTimeoutException("La detección superó el tiempo límite del request");
+    }
+
+    //VERIFICACIONES DE SECUENCIAS
+    //Verifica secuencia horizontal
+    private boolean checkHorizontal(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r][c + 1] == base &&
+                m[r][c + 2] == base &&
+                m[r][c + 3] == base;
+    }
+
+    //Verifica secuencia vertical
+    private boolean checkVertical(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r + 1][c] == base &&
+                m[r + 2][c] == base &&
+                m[r + 3][c] == base;
+    }
+
+    //Verifica secuencia diagonal principal y paralelas
+    private boolean checkDiagonalDown(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r + 1][c + 1] == base &&
+                m[r + 2][c + 2] == base &&
+                m[r + 3][c + 3] == base;
+    }
+
+    //Verifica secuencia diagonal secundaria y paralelas
+    private boolean checkDiagonalUp(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r - 1][c + 1] == base &&
+                m[r - 2][c + 2] == base &&
+                m[r - 3][c + 3] == base;
+    }
+
+
+}
@@ -0,0 +1,192 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.validation.DnaBases;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+//Detector por flujo de filas: recibe la matriz fila por fila y mantiene solo la fila anterior
+//y el largo de la racha actual por columna y por diagonal (↘ y ↗), así la memoria es O(N)
+//sin importar el tamaño total. Una secuencia vertical/diagonal abarca 4 filas consecutivas:
+//la racha acumulada reemplaza al buffer de 4 filas.
+//Una instancia procesa una sola matriz y no es thread-safe.
+public class StreamingMutantDetector {
+
+    private static final int TAMANIO_MINIMO = 4;
+
+    private final MessageDigest digest;
+    private int n = -1;
+    private int rows;
+    private int sequences;
+    private int earlyExitRow = -1;
+
+    private byte[] previous;
+    private byte[] current;
+    //Largo de racha (tope 4) que termina en cada columna de la fila anterior
+    private byte[] vertical;
+    private byte[] diagonalDown;
+    private byte[] diagonalUp;
+    private byte[] nextDiagonalDown;
+    private byte[] nextDiagonalUp;
+
+    public StreamingMutantDetector() {
+        this(null);
+    }
+
+    //Con digest, además se acumula el hash de las filas (mismo hash que MutantService)
+    public StreamingMutantDetector(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    //Agrega una fila; devuelve true en cuanto se encontraron 2 secuencias
+    public boolean accept(CharSequence row) {
+        begin(row.length());
+        for (int col = 0; col < n; col++) {
+            current[col] = base(row.charAt(col));
+        }
+        return process();
+    }
+
+    public boolean accept(char[] buffer, int offset, int length) {
+        begin(length);
+        for (int col = 0; col < n; col++) {
+            current[col] = base(buffer[offset + col]);
+        }
+        return process();
+    }
+
+    //Fila en bytes ASCII (p. ej. leída de un archivo mapeado en memoria)
+    public boolean accept(byte[] buffer, int offset, int length) {
+        begin(length);
+        for (int col = 0; col < n; col++) {
+            current[col] = base((char) buffer[offset + col]);
+        }
+        return process();
+    }
+
+    public boolean isMutant() {
+        return sequences > 1;
+    }
+
+    //Fila en la que se alcanzó el veredicto mutante (-1 si no se alcanzó)
+    public int getEarlyExitRow() {
+        return earlyExitRow;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    //Verifica que se recibieron exactamente N filas y devuelve el veredicto
+    public boolean finish() {
+        if (rows == 0) {
+            throw new InvalidDnaException("El array de ADN no puede estar vacío");
+        }
+        if (rows != n) {
+            throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+        }
+        return isMutant();
+    }
+
+    //Clasifica un archivo con una fila por línea; corta la lectura apenas es mutante
+    public static boolean classify(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            StreamingMutantDetector detector = new StreamingMutantDetector();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (detector.accept(line)) {
+                    return true;
+                }
+            }
+            return detector.finish();
+        }
+    }
+
+    private void begin(int length) {
+        if (n < 0) {
+            if (length == 0) {
+                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+            }
+            n = length;
+            previous = new byte[n];
+            current = new byte[n];
+            vertical = new byte[n];
+            diagonalDown = new byte[n];
+            diagonalUp = new byte[n];
+            nextDiagonalDown = new byte[n];
+            nextDiagonalUp = new byte[n];
+        }
+        if (length != n || rows == n) {
+            throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+        }
+    }
+
+    private boolean process() {
+        if (digest != null) {
+            digest.update(current, 0, n);
+        }
+        if (sequences < 2) {
+            scanRow();
+            if (sequences > 1) {
+                earlyExitRow = rows;
+            }
+        }
+        rows++;
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        return sequences > 1;
+    }
+
+    //Cada ventana de 4 se cuenta una vez, en la celda donde termina (igual que MutantDetector)
+    private void scanRow() {
+        boolean first = rows == 0;
+        int horizontal = 0;
+        for (int col = 0; col < n; col++) {
+            byte base = current[col];
+
+            // Horizontal →
+            horizontal = col > 0 && current[col - 1] == base ? Math.min(horizontal + 1, TAMANIO_MINIMO) : 1;
+            if (horizontal == TAMANIO_MINIMO) sequences++;
+
+            // Vertical ↓
+            vertical[col] = !first && previous[col] == base ? (byte) Math.min(vertical[col] + 1, TAMANIO_MINIMO) : 1;
+            if (vertical[col] == TAMANIO_MINIMO) sequences++;
+
+            // Diagonal ↘ (viene de la fila anterior, columna anterior)
+            nextDiagonalDown[col] = !first && col > 0 && previous[col - 1] == base
+                    ? (byte) Math.min(diagonalDown[col - 1] + 1, TAMANIO_MINIMO) : 1;
+            if (nextDiagonalDown[col] == TAMANIO_MINIMO) sequences++;
+
+            // Diagonal ↗ (viene de la fila anterior, columna siguiente)
+            nextDiagonalUp[col] = !first && col < n - 1 && previous[col + 1] == base
+                    ? (byte) Math.min(diagonalUp[col + 1] + 1, TAMANIO_MINIMO) : 1;
+            if (nextDiagonalUp[col] == TAMANIO_MINIMO) sequences++;
+
+            if (sequences > 1) {
+                return;
+            }
+        }
+        byte[] swap = diagonalDown;
+        diagonalDown = nextDiagonalDown;
+        nextDiagonalDown = swap;
+        swap = diagonalUp;
+        diagonalUp = nextDiagonalUp;
+        nextDiagonalUp = swap;
+    }
+
+    private static byte base(char c) {
+        if (!DnaBases.isBase(c)) {
+            throw new InvalidDnaException("El ADN contiene caracteres inválidos (Solo se permite A, T, C, G)");
+        }
+        return (byte) c;
+    }
+}
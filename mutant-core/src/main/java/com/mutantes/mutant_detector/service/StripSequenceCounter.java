@@ -0,0 +1,70 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+
+//Cuenta secuencias dentro de una franja horizontal de la matriz (detección distribuida).
+//La franja trae sus filas propias seguidas de hasta 3 filas de solapamiento con la siguiente:
+//cada ventana de 4 se cuenta en la franja dueña de su fila superior, así las secuencias
+//que cruzan el borde entre franjas se cuentan una sola vez en todo el cluster.
+public final class StripSequenceCounter {
+
+    public static final int SOLAPAMIENTO = 3;
+    private static final int TAMANIO_MINIMO = 4;
+
+    private StripSequenceCounter() {
+    }
+
+    //strip: filas propias + solapamiento (todas de largo n); ownedRows: cuántas son propias.
+    //Corta al llegar a limit (el veredicto ya no cambia) y respeta la cancelación por fila.
+    public static int count(byte[][] strip, int ownedRows, int limit, CancellationToken token) {
+        int rows = strip.length;
+        int n = rows == 0 ? 0 : strip[0].length;
+        int sequences = 0;
+
+        for (int r = 0; r < ownedRows; r++) {
+            if (token.shouldStop()) {
+                throw new DetectionTimeoutException("La detección superó el tiempo límite del request");
+            }
+            //Verticales y diagonales necesitan 3 filas más abajo (propias o de solapamiento)
+            boolean below = r + TAMANIO_MINIMO - 1 < rows;
+            for (int c = 0; c < n; c++) {
+                boolean right = c <= n - TAMANIO_MINIMO;
+
+                // Horizontal →
+                if (right && horizontal(strip, r, c) && ++sequences >= limit) return sequences;
+                if (!below) continue;
+
+                // Vertical ↓
+                if (vertical(strip, r, c) && ++sequences >= limit) return sequences;
+                if (!right) continue;
+
+                // Diagonal ↘
+                if (diagonalDown(strip, r, c) && ++sequences >= limit) return sequences;
+
+                // Diagonal ↗ (arranca 3 filas abajo y termina en la fila r)
+                if (diagonalUp(strip, r + TAMANIO_MINIMO - 1, c) && ++sequences >= limit) return sequences;
+            }
+        }
+        return sequences;
+    }
+
+    private static boolean horizontal(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r][c + 1] == base && m[r][c + 2] == base && m[r][c + 3] == base;
+    }
+
+    private static boolean vertical(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r + 1][c] == base && m[r + 2][c] == base && m[r + 3][c] == base;
+    }
+
+    private static boolean diagonalDown(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r + 1][c + 1] == base && m[r + 2][c + 2] == base && m[r + 3][c + 3] == base;
+    }
+
+    private static boolean diagonalUp(byte[][] m, int r, int c) {
+        byte base = m[r][c];
+        return m[r - 1][c + 1] == base && m[r - 2][c + 2] == base && m[r - 3][c + 3] == base;
+    }
+}
@@ -0,0 +1,26 @@
+package com.mutantes.mutant_detector.validation;
+
+//Chequeo de bases sin regex: row.matches("[ATCG]+") compila un Pattern y crea un Matcher por fila
+public final class DnaBases {
+
+    private DnaBases() {
+    }
+
+    public static boolean isBase(char c) {
+        return c == 'A' || c == 'T' || c == 'C' || c == 'G';
+    }
+
+    //true si la fila no está vacía y solo contiene A, T, C, G
+    public static boolean isValidRow(String row) {
+        int length = row.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isBase(row.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package com.mutantes.mutant_detector.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitSlicedDetectorTest {
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+    private final MicroBatcher microBatcher = new MicroBatcher(true, 200, 16);
+
+    @AfterEach
+    void tearDown() {
+        microBatcher.shutdown();
+    }
+
+    private static byte[][] toMatrix(String[] dna) {
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int r = 0; r < n; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < n; c++) {
+                row.append("ACG".charAt(random.nextInt(3)));
+            }
+            dna[r] = row.toString();
+        }
+        return dna;
+    }
+
+    @Test
+    @DisplayName("1. Cada carril del lote coincide con MutantDetector")
+    void testMatchesSequentialDetector() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int n = 4 + random.nextInt(8);
+            List<String[]> dnas = new ArrayList<>();
+            List<byte[][]> batch = new ArrayList<>();
+            for (int lane = 0; lane < BitSlicedDetector.LANES; lane++) {
+                String[] dna = randomDna(random, n);
+                dnas.add(dna);
+                batch.add(toMatrix(dna));
+            }
+
+            long mutants = BitSlicedDetector.detect(batch);
+
+            for (int lane = 0; lane < dnas.size(); lane++) {
+                assertEquals(mutantDetector.isMutant(dnas.get(lane)), ((mutants >>> lane) & 1L) != 0,
+                        String.join(",", dnas.get(lane)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("2. Lote parcial: los carriles vacíos nunca se marcan mutantes")
+    void testPartialBatch() {
+        String[] mutant = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String[] human = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        long mutants = BitSlicedDetector.detect(List.of(toMatrix(mutant), toMatrix(human)));
+
+        assertEquals(0b01L, mutants);
+    }
+
+    @Test
+    @DisplayName("3. El micro-batcher resuelve requests concurrentes del mismo N")
+    void testMicroBatcherGroupsRequests() throws Exception {
+        String[] mutant = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String[] human = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        CompletableFuture<Boolean> first = microBatcher.submit(toMatrix(mutant));
+        CompletableFuture<Boolean> second = microBatcher.submit(toMatrix(human));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertFalse(second.get(5, TimeUnit.SECONDS));
+        assertFalse(microBatcher.accepts(17));
+    }
+}
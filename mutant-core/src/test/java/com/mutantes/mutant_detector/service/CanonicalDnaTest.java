@@ -0,0 +1,82 @@
+package com.mutantes.mutant_detector.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalDnaTest {
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    private static byte[][] toMatrix(String... rows) {
+        byte[][] matrix = new byte[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            matrix[i] = rows[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+
+    @Test
+    @DisplayName("1. Rotaciones, reflexiones y permutaciones de letras tienen la misma forma canónica")
+    void testEquivalentMatricesShareCanonicalForm() {
+        byte[][] original = toMatrix("AAAT", "CGTC", "GGAC", "TTTA");
+        byte[][] rotatedAndRelabeled = toMatrix("AGCT", "AGGT", "ATAT", "TCCA");
+        byte[][] transposed = toMatrix("ACGT", "AGGT", "ATAT", "TCCA");
+
+        byte[][] canonical = CanonicalDna.canonicalize(original);
+
+        assertArrayEquals(canonical, CanonicalDna.canonicalize(rotatedAndRelabeled));
+        assertArrayEquals(canonical, CanonicalDna.canonicalize(transposed));
+    }
+
+    @Test
+    @DisplayName("2. La forma canónica conserva el veredicto")
+    void testCanonicalFormKeepsVerdict() {
+        Random random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            int n = 4 + random.nextInt(6);
+            byte[][] matrix = new byte[n][n];
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c < n; c++) {
+                    matrix[r][c] = (byte) "ACGT".charAt(random.nextInt(random.nextBoolean() ? 2 : 4));
+                }
+            }
+
+            assertEquals(mutantDetector.isMutantMatrix(matrix),
+                    mutantDetector.isMutantMatrix(CanonicalDna.canonicalize(matrix)));
+        }
+    }
+
+    @Test
+    @DisplayName("3. Matrices inválidas no se canonicalizan")
+    void testInvalidMatrixReturnsNull() {
+        assertNull(CanonicalDna.canonicalize(toMatrix("ATG", "CAG")));
+        assertNull(CanonicalDna.canonicalize(toMatrix("ATGX", "CAGT", "TTAT", "AGAC")));
+        assertNull(CanonicalDna.canonicalize(null));
+    }
+
+    @Test
+    @DisplayName("4. digest() sin materializar == hash de la forma canónica, desde byte[][] y desde String[]")
+    void testDigestMatchesCanonicalRows() throws Exception {
+        String[] rows = {"AAAT", "CGTC", "GGAC", "TTTA"};
+        MessageDigest expected = MessageDigest.getInstance("SHA-256");
+        for (byte[] row : CanonicalDna.canonicalize(toMatrix(rows))) {
+            expected.update(row);
+        }
+        byte[] expectedHash = expected.digest();
+
+        MessageDigest fromMatrix = MessageDigest.getInstance("SHA-256");
+        assertTrue(CanonicalDna.digest(toMatrix("AGCT", "AGGT", "ATAT", "TCCA"), fromMatrix));
+        MessageDigest fromStrings = MessageDigest.getInstance("SHA-256");
+        assertTrue(CanonicalDna.digest(rows, fromStrings));
+
+        assertArrayEquals(expectedHash, fromMatrix.digest());
+        assertArrayEquals(expectedHash, fromStrings.digest());
+        assertFalse(CanonicalDna.digest(new String[]{"ATGX", "CAGT", "TTAT", "AGAC"}, MessageDigest.getInstance("SHA-256")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingMutantDetectorTest {
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    private boolean stream(String[] dna) {
+        StreamingMutantDetector detector = new StreamingMutantDetector();
+        for (String row : dna) {
+            detector.accept(row);
+        }
+        return detector.finish();
+    }
+
+    @Test
+    @DisplayName("1. Detecta las cuatro direcciones recibiendo fila por fila")
+    void testAllDirections() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        assertTrue(stream(dna));
+
+        String[] diagonalUp = {"ATGCGA", "CAGTAC", "TTAAGT", "AGAAGG", "ACCTTA", "TCACTG"};
+        assertEquals(mutantDetector.isMutant(diagonalUp), stream(diagonalUp));
+
+        String[] human = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+        assertFalse(stream(human));
+    }
+
+    @Test
+    @DisplayName("2. Coincide con MutantDetector en matrices aleatorias")
+    void testMatchesInMemoryDetector() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int n = 4 + random.nextInt(10);
+            String[] dna = new String[n];
+            for (int r = 0; r < n; r++) {
+                StringBuilder row = new StringBuilder();
+                for (int c = 0; c < n; c++) {
+                    row.append("ACG".charAt(random.nextInt(3)));
+                }
+                dna[r] = row.toString();
+            }
+            assertEquals(mutantDetector.isMutant(dna), stream(dna), String.join(",", dna));
+        }
+    }
+
+    @Test
+    @DisplayName("3. Corta apenas encuentra dos secuencias")
+    void testEarlyExit() {
+        StreamingMutantDetector detector = new StreamingMutantDetector();
+
+        assertFalse(detector.accept("AAAAGT"));
+        assertTrue(detector.accept("CCCCTA"));
+        assertEquals(1, detector.getEarlyExitRow());
+    }
+
+    @Test
+    @DisplayName("4. Filas de distinto largo, faltantes o con letras inválidas lanzan excepción")
+    void testInvalidRows() {
+        StreamingMutantDetector detector = new StreamingMutantDetector();
+        detector.accept("ATGC");
+        assertThrows(InvalidDnaException.class, () -> detector.accept("ATG"));
+        assertThrows(InvalidDnaException.class, () -> new StreamingMutantDetector().accept("ATGX"));
+
+        StreamingMutantDetector incomplete = new StreamingMutantDetector();
+        incomplete.accept("ATGC");
+        assertThrows(InvalidDnaException.class, incomplete::finish);
+    }
+
+    @Test
+    @DisplayName("5. Clasifica un archivo con una fila por línea")
+    void testClassifyFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("dna.txt");
+        Files.write(file, List.of("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"));
+
+        assertTrue(StreamingMutantDetector.classify(file));
+    }
+}
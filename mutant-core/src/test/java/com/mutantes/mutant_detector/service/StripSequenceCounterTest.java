@@ -0,0 +1,87 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripSequenceCounterTest {
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+    private final CancellationToken noDeadline = CancellationToken.withDeadline(null);
+
+    private static byte[][] toMatrix(String... rows) {
+        byte[][] matrix = new byte[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            matrix[i] = rows[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+
+    //Suma las franjas como lo hace el coordinador: filas propias + hasta 3 de solapamiento
+    private int countByStrips(byte[][] matrix, int stripRows, int limit) {
+        int n = matrix.length;
+        int total = 0;
+        for (int from = 0; from < n; from += stripRows) {
+            int owned = Math.min(stripRows, n - from);
+            int to = Math.min(n, from + owned + StripSequenceCounter.SOLAPAMIENTO);
+            total += StripSequenceCounter.count(Arrays.copyOfRange(matrix, from, to), owned, limit, noDeadline);
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("1. Las secuencias que cruzan el borde entre franjas se cuentan una sola vez")
+    void testBoundaryRunsCountedOnce() {
+        //Vertical de A en la columna 0 (filas 1-4) y diagonal ↗ de T (fila 4 a fila 1):
+        //con franjas de menos de 4 filas ambas cruzan un borde
+        byte[][] matrix = toMatrix(
+                "CTGCAG",
+                "ATGCTA",
+                "AGCTGC",
+                "AGTCGC",
+                "ATGCAG",
+                "GCAGTC");
+
+        int whole = StripSequenceCounter.count(matrix, matrix.length, Integer.MAX_VALUE, noDeadline);
+
+        assertEquals(2, whole);
+        for (int stripRows = 1; stripRows <= matrix.length; stripRows++) {
+            assertEquals(whole, countByStrips(matrix, stripRows, Integer.MAX_VALUE), "franjas de " + stripRows);
+        }
+    }
+
+    @Test
+    @DisplayName("2. La suma de las franjas da el mismo veredicto que el detector local")
+    void testMatchesLocalDetector() {
+        Random random = new Random(48);
+        for (int i = 0; i < 2000; i++) {
+            int n = 4 + random.nextInt(30);
+            byte[][] matrix = new byte[n][n];
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c < n; c++) {
+                    matrix[r][c] = (byte) "ACGT".charAt(random.nextInt(random.nextBoolean() ? 2 : 4));
+                }
+            }
+            int stripRows = 1 + random.nextInt(n);
+
+            assertEquals(mutantDetector.isMutantMatrix(matrix), countByStrips(matrix, stripRows, 2) > 1);
+            assertEquals(countByStrips(matrix, n, Integer.MAX_VALUE), countByStrips(matrix, stripRows, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @DisplayName("3. Una franja cancelada deja de contar")
+    void testCancelledStripStops() {
+        CancellationToken token = CancellationToken.withDeadline(null);
+        token.cancel();
+
+        assertThrows(DetectionTimeoutException.class,
+                () -> StripSequenceCounter.count(toMatrix("AAAA", "CCCC", "GGGG", "TTTT"), 4, 2, token));
+    }
+}
@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Replay de tráfico capturado (mutant.capture.enabled=true) contra una instancia local.
+# Reporta percentiles de latencia y los veredictos que difieren de los capturados
+# (sale con código 1 si hay diferencias o errores de conexión).
+#
+# Uso:
+#   ./gradlew bootJar
+#   scripts/replay-capture.sh captures/ [--target=http://localhost:8080] [--speed=original|max|<factor>] [--concurrency=64]
+set -euo pipefail
+
+JAR=$(realpath "${JAR:-$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)}")
+
+exec java -cp "$JAR" -Dloader.main=com.mutantes.mutant_detector.capture.CaptureReplay \
+    org.springframework.boot.loader.launch.PropertiesLauncher "$@"
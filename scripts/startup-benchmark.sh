@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Benchmark de arranque: mide el tiempo hasta la primera respuesta exitosa (200/403) de POST /mutant
+# comparando el arranque actual (java -jar) contra el modo rápido (AOT + AppCDS + perfil faststart).
+#
+# Uso:
+#   ./gradlew bootJar -PfastStartup
+#   scripts/startup-benchmark.sh [ruta/al/jar]      (RUNS=5 PORT=18080 por defecto)
+set -euo pipefail
+
+JAR=$(realpath "${1:-$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)}")
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+BODY='{"dna":["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]}'
+MAIN=com.mutantes.mutant_detector.MutantDetectorApplication
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+# Arranca el comando recibido y espera la primera respuesta válida de /mutant
+time_to_first_request() {
+    local start end pid
+    start=$(now_ms)
+    PORT=$PORT "$@" >"$WORK/app.log" 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+            -d "$BODY" "http://localhost:$PORT/mutant" | grep -qE '^(200|403)$'; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "La aplicación terminó antes de responder, ver log:" >&2
+            cat "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(now_ms)
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    echo $((end - start))
+}
+
+report() {
+    local label=$1; shift
+    local total=0 best=
+    for i in $(seq 1 "$RUNS"); do
+        local ms
+        ms=$(time_to_first_request "$@")
+        total=$((total + ms))
+        if [ -z "$best" ] || [ "$ms" -lt "$best" ]; then best=$ms; fi
+        echo "  $label #$i: ${ms} ms"
+    done
+    echo "$label -> promedio $((total / RUNS)) ms, mejor ${best} ms"
+}
+
+# Preparación del modo rápido: jar descomprimido + classpath plano + archivo AppCDS
+mkdir -p "$WORK/exploded"
+(cd "$WORK/exploded" && unzip -q "$JAR")
+CLASSPATH_FAST="$WORK/exploded/BOOT-INF/classes$(sed -n "s|^- \"\(.*\)\"$|:$WORK/exploded/\1|p" \
+    "$WORK/exploded/BOOT-INF/classpath.idx" | tr -d '\n')"
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=faststart \
+    -Dspring.main.lazy-initialization=false -Dspring.context.exit=onRefresh \
+    -cp "$CLASSPATH_FAST" "$MAIN" >"$WORK/training.log" 2>&1
+
+echo "Time-to-first-request sobre $RUNS corridas"
+report "actual (java -jar)" java -jar "$JAR"
+report "rápido (AOT + CDS + faststart)" java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=faststart -cp "$CLASSPATH_FAST" "$MAIN"
@@ -0,0 +1,188 @@
+package com.mutantes.mutant_detector.capture;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//Reproduce una captura de TrafficCaptureWriter contra una instancia (local) y reporta
+//percentiles de latencia y los veredictos (200/403) que difieren de los capturados.
+//
+//Uso: CaptureReplay <archivo o directorio>... [--target=http://localhost:8080]
+//                   [--speed=original|max|<factor>] [--concurrency=64]
+//  original: respeta los intervalos entre requests; <factor>: los divide por el factor (2 = doble velocidad);
+//  max: sin esperas, con hasta --concurrency requests en vuelo.
+//En los modos temporizados la latencia se mide desde el instante programado, así un servidor
+//lento no esconde su demora atrasando los envíos siguientes.
+public class CaptureReplay {
+
+    private static final int MAX_LISTED_DIFFERENCES = 20;
+
+    private final HttpClient client;
+    private final URI target;
+    //0 = máxima velocidad
+    private final double speed;
+    private final int concurrency;
+
+    public CaptureReplay(URI target, double speed, int concurrency) {
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.target = target;
+        this.speed = speed;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI target = URI.create("http://localhost:8080");
+        double speed = 1;
+        int concurrency = 64;
+        List<Path> inputs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--target=")) {
+                target = URI.create(arg.substring("--target=".length()));
+            } else if (arg.startsWith("--speed=")) {
+                String value = arg.substring("--speed=".length());
+                speed = "max".equals(value) ? 0 : "original".equals(value) ? 1 : Double.parseDouble(value);
+            } else if (arg.startsWith("--concurrency=")) {
+                concurrency = Integer.parseInt(arg.substring("--concurrency=".length()));
+            } else {
+                inputs.add(Path.of(arg));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Uso: CaptureReplay <archivo o directorio>... [--target=URL] "
+                    + "[--speed=original|max|<factor>] [--concurrency=N]");
+            System.exit(2);
+        }
+
+        List<CapturedRequest> requests = load(inputs);
+        Report report = new CaptureReplay(target, speed, concurrency).replay(requests);
+        System.out.print(report.format());
+        System.exit(report.differences().isEmpty() && report.errors() == 0 ? 0 : 1);
+    }
+
+    //Lee todos los archivos (los directorios en orden de creación) y ordena por llegada
+    public static List<CapturedRequest> load(List<Path> inputs) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        for (Path input : inputs) {
+            List<Path> files = Files.isDirectory(input) ? TrafficCaptureWriter.list(input) : List.of(input);
+            for (Path file : files) {
+                requests.addAll(TrafficCaptureWriter.read(file));
+            }
+        }
+        requests.sort(Comparator.comparingLong(CapturedRequest::atMicros));
+        return requests;
+    }
+
+    public Report replay(List<CapturedRequest> requests) throws InterruptedException {
+        int total = requests.size();
+        long[] latencies = new long[total];
+        int[] statuses = new int[total];
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(total);
+        long firstAt = total == 0 ? 0 : requests.get(0).atMicros();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < total; i++) {
+            CapturedRequest request = requests.get(i);
+            long scheduled;
+            if (speed > 0) {
+                scheduled = start + (long) ((request.atMicros() - firstAt) * 1000 / speed);
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                inFlight.acquire();
+                scheduled = System.nanoTime();
+            }
+            int index = i;
+            long sentAt = scheduled;
+            pending.add(client.sendAsync(toHttp(request), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt);
+                        statuses[index] = error == null ? response.statusCode() : -1;
+                        if (speed <= 0) {
+                            inFlight.release();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        List<String> differences = new ArrayList<>();
+        int errors = 0;
+        for (int i = 0; i < total; i++) {
+            int expected = requests.get(i).status();
+            if (statuses[i] < 0) {
+                errors++;
+            } else if (isVerdict(expected) && statuses[i] != expected) {
+                differences.add("#" + i + " " + requests.get(i).path() + " (capturada en " + requests.get(i).atMicros()
+                        + "us): " + expected + " -> " + statuses[i]);
+            }
+        }
+        long[] recorded = requests.stream().mapToLong(CapturedRequest::latencyMicros).toArray();
+        return new Report(total, elapsedMicros, errors, latencies, recorded, differences);
+    }
+
+    private HttpRequest toHttp(CapturedRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(request.path()))
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        if (request.contentType() != null) {
+            builder.header("Content-Type", request.contentType());
+        }
+        return builder.build();
+    }
+
+    private static boolean isVerdict(int status) {
+        return status == 200 || status == 403;
+    }
+
+    public record Report(int requests, long elapsedMicros, int errors, long[] latencies, long[] recordedLatencies,
+                         List<String> differences) {
+
+        //Percentil p (0 a 100) en microsegundos, por rango más cercano
+        public static long percentile(long[] values, double p) {
+            if (values.length == 0) {
+                return 0;
+            }
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(p / 100 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+
+        public String format() {
+            StringBuilder text = new StringBuilder();
+            double seconds = elapsedMicros / 1_000_000.0;
+            text.append(String.format("Requests: %d en %.2f s (%.1f req/s), errores de conexión: %d%n",
+                    requests, seconds, seconds > 0 ? requests / seconds : 0, errors));
+            text.append(String.format("%-10s %10s %10s %10s %10s %10s%n", "ms", "p50", "p90", "p99", "p99.9", "max"));
+            text.append(row("replay", latencies));
+            text.append(row("capturado", recordedLatencies));
+            text.append("Veredictos distintos: ").append(differences.size()).append(System.lineSeparator());
+            differences.stream().limit(MAX_LISTED_DIFFERENCES)
+                    .forEach(difference -> text.append("  ").append(difference).append(System.lineSeparator()));
+            return text.toString();
+        }
+
+        private static String row(String label, long[] values) {
+            return String.format("%-10s %10.2f %10.2f %10.2f %10.2f %10.2f%n", label,
+                    percentile(values, 50) / 1000.0, percentile(values, 90) / 1000.0, percentile(values, 99) / 1000.0,
+                    percentile(values, 99.9) / 1000.0, percentile(values, 100) / 1000.0);
+        }
+    }
+}
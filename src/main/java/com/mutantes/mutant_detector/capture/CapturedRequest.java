@@ -0,0 +1,6 @@
+package com.mutantes.mutant_detector.capture;
+
+//Una línea del archivo de captura. El cuerpo se serializa en base64 (JSON o binario por igual)
+public record CapturedRequest(long atMicros, String path, String contentType, byte[] body,
+                              int status, long latencyMicros) {
+}
@@ -0,0 +1,193 @@
+package com.mutantes.mutant_detector.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+//Escribe las requests capturadas en archivos NDJSON comprimidos que rotan por tamaño.
+//El hilo del request solo encola (offer sin bloqueo); un hilo propio comprime y escribe.
+@Slf4j
+public class TrafficCaptureWriter implements AutoCloseable {
+
+    static final String PREFIX = "capture-";
+    static final String SUFFIX = ".ndjson.gz";
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path dir;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean closed;
+
+    //Archivo actual (solo lo usa writerThread)
+    private OutputStream out;
+    private long fileBytes;
+    private int sequence;
+
+    public TrafficCaptureWriter(Path dir, long maxFileBytes, int maxFiles, int queueSize) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writerThread = new Thread(this::drain, "traffic-capture-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    //No bloquea: si el escritor va atrasado la muestra se pierde
+    public boolean offer(CapturedRequest request) {
+        if (closed || !queue.offer(request)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    private void drain() {
+        List<CapturedRequest> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                CapturedRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (CapturedRequest request : batch) {
+                    write(request);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                //Sin disco no se captura, pero el servicio sigue atendiendo
+                log.warn("No se pudo escribir la captura de tráfico: {}", e.getMessage());
+                dropped.addAndGet(batch.size());
+                batch.clear();
+                closeFile();
+            }
+        }
+        closeFile();
+    }
+
+    private void write(CapturedRequest request) throws IOException {
+        if (out == null || fileBytes >= maxFileBytes) {
+            rotate();
+        }
+        byte[] line = MAPPER.writeValueAsBytes(request);
+        out.write(line);
+        out.write('\n');
+        fileBytes += line.length + 1;
+        written.incrementAndGet();
+    }
+
+    private void flush() {
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                log.warn("No se pudo vaciar la captura de tráfico: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+        String name = PREFIX + FILE_TIME.format(Instant.now()) + String.format("-%06d", sequence++) + SUFFIX;
+        //syncFlush: lo vaciado ya es legible aunque el proceso muera sin cerrar el archivo
+        out = new GZIPOutputStream(Files.newOutputStream(dir.resolve(name)), 64 * 1024, true);
+        fileBytes = 0;
+        List<Path> files = list(dir);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("No se pudo cerrar la captura de tráfico: {}", e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    //Archivos de captura del directorio, del más viejo al más nuevo
+    public static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    //Lee un archivo de captura completo. Un archivo todavía abierto no tiene el trailer gzip:
+    //se usa lo descomprimido hasta ahí y se descarta la última línea si quedó incompleta
+    public static List<CapturedRequest> read(Path file) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                data.write(buffer, 0, read);
+            }
+        } catch (EOFException e) {
+            //Fin inesperado del archivo abierto
+        }
+        byte[] bytes = data.toByteArray();
+        List<CapturedRequest> requests = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                if (i > lineStart) {
+                    requests.add(MAPPER.readValue(bytes, lineStart, i - lineStart, CapturedRequest.class));
+                }
+                lineStart = i + 1;
+            }
+        }
+        return requests;
+    }
+}
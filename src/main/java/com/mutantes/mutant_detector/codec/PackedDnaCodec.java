@@ -0,0 +1,129 @@
+package com.mutantes.mutant_detector.codec;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+//Formato binario compacto para POST /mutant (application/octet-stream):
+//  - 4 bytes big-endian con N
+//  - ceil(N*N/4) bytes con las bases empaquetadas de a 2 bits, fila por fila
+//    (A=00, C=01, G=10, T=11; la primera base ocupa los bits más altos del byte)
+//Se decodifica directo a la matriz de bytes que usa MutantDetector, sin Strings intermedios.
+@Component
+public class PackedDnaCodec {
+
+    public static final String MEDIA_TYPE = "application/octet-stream";
+
+    private static final int HEADER_BYTES = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] BASES = {'A', 'C', 'G', 'T'};
+
+    private final int maxN;
+
+    public PackedDnaCodec(@Value("${mutant.binary.max-n:20000}") int maxN) {
+        this.maxN = maxN;
+    }
+
+    public byte[][] decode(InputStream in) throws IOException {
+        byte[] header = new byte[HEADER_BYTES];
+        if (readFully(in, header, 0, HEADER_BYTES) < HEADER_BYTES) {
+            throw new InvalidDnaException("El cuerpo binario no contiene el tamaño N");
+        }
+        int n = ((header[0] & 0xff) << 24) | ((header[1] & 0xff) << 16)
+                | ((header[2] & 0xff) << 8) | (header[3] & 0xff);
+        if (n <= 0) {
+            throw new InvalidDnaException("El array de ADN no puede estar vacío");
+        }
+        if (n > maxN) {
+            throw new InvalidDnaException("El ADN supera el tamaño máximo permitido (N <= " + maxN + ")");
+        }
+
+        //Las filas se reservan recién cuando llegan sus bytes: un header con N grande y sin cuerpo
+        //no reserva N*N (la memoria crece con lo que efectivamente se recibió)
+        byte[][] matrix = new byte[n][];
+        long cells = (long) n * n;
+        long cell = 0;
+        int row = 0;
+        int col = 0;
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, (cells + 3) / 4)];
+
+        while (cell < cells) {
+            int read = in.read(buffer);
+            if (read < 0) {
+                throw new InvalidDnaException("El cuerpo binario está incompleto para N=" + n);
+            }
+            for (int i = 0; i < read && cell < cells; i++) {
+                int packed = buffer[i] & 0xff;
+                for (int shift = 6; shift >= 0 && cell < cells; shift -= 2) {
+                    if (col == 0) {
+                        matrix[row] = new byte[n];
+                    }
+                    matrix[row][col] = BASES[(packed >>> shift) & 0b11];
+                    cell++;
+                    if (++col == n) {
+                        col = 0;
+                        row++;
+                    }
+                }
+                if (cell == cells && i < read - 1) {
+                    throw new InvalidDnaException("El cuerpo binario tiene bytes de más para N=" + n);
+                }
+            }
+        }
+        if (in.read() >= 0) {
+            throw new InvalidDnaException("El cuerpo binario tiene bytes de más para N=" + n);
+        }
+        return matrix;
+    }
+
+    //Codifica una matriz de bases (A/C/G/T) al mismo formato que acepta decode
+    public static byte[] encode(byte[][] matrix) {
+        int n = matrix.length;
+        long cells = (long) n * n;
+        byte[] out = new byte[HEADER_BYTES + (int) ((cells + 3) / 4)];
+        out[0] = (byte) (n >>> 24);
+        out[1] = (byte) (n >>> 16);
+        out[2] = (byte) (n >>> 8);
+        out[3] = (byte) n;
+
+        long cell = 0;
+        for (byte[] row : matrix) {
+            if (row.length != n) {
+                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+            }
+            for (byte base : row) {
+                int index = HEADER_BYTES + (int) (cell >>> 2);
+                int shift = 6 - 2 * (int) (cell & 3);
+                out[index] |= (byte) (code(base) << shift);
+                cell++;
+            }
+        }
+        return out;
+    }
+
+    private static int code(byte base) {
+        switch (base) {
+            case 'A': return 0;
+            case 'C': return 1;
+            case 'G': return 2;
+            case 'T': return 3;
+            default:
+                throw new InvalidDnaException("El ADN contiene caracteres inválidos (Solo se permite A, T, C, G)");
+        }
+    }
+
+    private static int readFully(InputStream in, byte[] buffer, int offset, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = in.read(buffer, offset + total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mutantes.mutant_detector.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.filter.AdmissionControlFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+//Registra el control de admisión sobre POST /mutant, /mutant/stream, /mutant/jobs y /motifs
+//(mismos carriles por N), antes que el resto de los filtros. /mutant/stream sin Content-Length
+//(chunked) va al último carril y lo ocupa mientras lee el cuerpo
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "mutant.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties properties,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(properties, objectMapper));
+        registration.addUrlPatterns("/mutant", "/mutant/stream", "/mutant/jobs", "/motifs");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
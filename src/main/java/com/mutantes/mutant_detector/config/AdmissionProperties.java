@@ -0,0 +1,28 @@
+package com.mutantes.mutant_detector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Carriles de admisión de POST /mutant por tamaño de matriz
+@Data
+@ConfigurationProperties(prefix = "mutant.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    //Espera máxima en la cola de un carril antes de rechazar
+    private long maxQueueWaitMs = 1000;
+    //Valor del header Retry-After al rechazar
+    private int retryAfterSeconds = 1;
+    //Ordenados de menor a mayor maxN; el último recibe todo lo que no entra en los anteriores
+    private List<Lane> lanes = new ArrayList<>();
+
+    @Data
+    public static class Lane {
+        private String name;
+        private int maxN = Integer.MAX_VALUE;
+        private int concurrency = 1;
+        private int queueSize = 0;
+    }
+}
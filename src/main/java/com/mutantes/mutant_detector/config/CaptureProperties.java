@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+//Captura de tráfico real de POST /mutant para reproducirlo con CaptureReplay
+@Data
+@ConfigurationProperties(prefix = "mutant.capture")
+public class CaptureProperties {
+    private boolean enabled = false;
+    //Fracción de requests capturadas (0 a 1)
+    private double sampleRate = 0.01;
+    //Directorio de los archivos capture-*.ndjson.gz
+    private String dir = "captures";
+    //Se abre un archivo nuevo al superar este tamaño (sin comprimir)
+    private long maxFileBytes = 64L * 1024 * 1024;
+    //Archivos que se conservan; los más viejos se borran
+    private int maxFiles = 10;
+    //Requests pendientes de escritura; si la cola está llena la muestra se descarta
+    private int queueSize = 10_000;
+    //Cuerpos más grandes no se capturan
+    private int maxBodyBytes = 1024 * 1024;
+}
@@ -0,0 +1,48 @@
+package com.mutantes.mutant_detector.config;
+
+import com.mutantes.mutant_detector.service.DistributedDetectionService;
+import com.mutantes.mutant_detector.service.DistributedMutantDetector;
+import com.mutantes.mutant_detector.service.MicroBatcher;
+import com.mutantes.mutant_detector.service.MutantDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+//Núcleo de detección (módulo mutant-core, sin Spring) y su pool dedicado para la detección
+//paralela: no compite con el ForkJoinPool común de la JVM
+@Configuration
+public class DetectionExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool detectionPool(@Value("${mutant.detection.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("mutant-detection-" + worker.getPoolIndex());
+            worker.setDaemon(true);
+            return worker;
+        }, null, false);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public MicroBatcher microBatcher(@Value("${mutant.batching.enabled:false}") boolean enabled,
+                                     @Value("${mutant.batching.window-us:200}") long windowMicros,
+                                     @Value("${mutant.batching.max-n:16}") int maxN) {
+        return new MicroBatcher(enabled, windowMicros, maxN);
+    }
+
+    //Con mutant.distributed.enabled las matrices grandes se reparten entre workers;
+    //ObjectProvider: los tests de slice que importan esta config no registran el coordinador
+    @Bean
+    public MutantDetector mutantDetector(ForkJoinPool detectionPool, MicroBatcher microBatcher,
+                                         ObjectProvider<DistributedDetectionService> distributedDetection) {
+        DistributedDetectionService distributed = distributedDetection.getIfAvailable();
+        if (distributed != null && distributed.isEnabled()) {
+            return new DistributedMutantDetector(detectionPool, microBatcher, distributed);
+        }
+        return new MutantDetector(detectionPool, microBatcher);
+    }
+}
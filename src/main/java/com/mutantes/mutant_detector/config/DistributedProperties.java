@@ -0,0 +1,31 @@
+package com.mutantes.mutant_detector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Configuración de la detección distribuida: esta instancia actúa de coordinador y reparte
+//las matrices grandes en franjas horizontales entre los workers (/internal/strips).
+@Data
+@Component
+@ConfigurationProperties(prefix = "mutant.distributed")
+public class DistributedProperties {
+    //Si está deshabilitado toda la detección es local (comportamiento original)
+    private boolean enabled = false;
+    //URLs base de los workers (instancias con mutant.distributed.worker=true)
+    private List<String> workers = new ArrayList<>();
+    //N mínimo para repartir: por debajo el costo de red supera al de analizar localmente
+    private int minN = 2000;
+    //Filas propias por franja; 0 = una franja por worker
+    private int stripRows = 0;
+    //Timeout de cada franja (acotado además por el deadline del request)
+    private long timeoutMs = 5000;
+    //Habilita /internal/strips en esta instancia (requiere mutant.internal.token)
+    private boolean worker = false;
+    //Tamaño máximo de una franja (filas propias + solapamiento) que acepta el worker;
+    //el coordinador achica las franjas para no superarlo
+    private long maxStripBytes = 256L * 1024 * 1024;
+}
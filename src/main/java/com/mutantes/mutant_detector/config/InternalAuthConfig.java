@@ -0,0 +1,25 @@
+package com.mutantes.mutant_detector.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.filter.InternalAuthFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+//Registra la autenticación por secreto compartido sobre todos los endpoints /internal/** y la
+//exportación masiva (/export/**), antes que cualquier otro filtro (no se lee el cuerpo de
+//requests no autenticados)
+@Configuration
+public class InternalAuthConfig {
+
+    @Bean
+    public FilterRegistrationBean<InternalAuthFilter> internalAuthFilter(InternalProperties properties,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<InternalAuthFilter> registration =
+                new FilterRegistrationBean<>(new InternalAuthFilter(properties, objectMapper));
+        registration.addUrlPatterns("/internal/*", "/export/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
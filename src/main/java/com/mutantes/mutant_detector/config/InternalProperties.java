@@ -0,0 +1,20 @@
+package com.mutantes.mutant_detector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+//Secreto compartido de los endpoints /internal/** (peer, workers, operación) y de /export/**.
+//Los nodos lo envían en el header X-Internal-Token; sin secreto configurado se rechazan todos.
+@Data
+@Component
+@ConfigurationProperties(prefix = "mutant.internal")
+public class InternalProperties {
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private String token = "";
+
+    public boolean hasToken() {
+        return token != null && !token.isBlank();
+    }
+}
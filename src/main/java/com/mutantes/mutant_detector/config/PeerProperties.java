@@ -0,0 +1,28 @@
+package com.mutantes.mutant_detector.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Configuración del modo peer: varias instancias se reparten los hashes de ADN
+//mediante un anillo de hashing consistente construido con la lista de nodos.
+@Data
+@Component
+@ConfigurationProperties(prefix = "mutant.peers")
+public class PeerProperties {
+    //Si está deshabilitado cada instancia trabaja sola (comportamiento original)
+    private boolean enabled = false;
+    //URL base de esta instancia tal como figura en la lista de nodos
+    private String self = "";
+    //URLs base de todos los nodos del cluster (incluida esta instancia)
+    private List<String> nodes = new ArrayList<>();
+    //Nodos virtuales por instancia: suavizan el reparto del anillo
+    private int virtualNodes = 128;
+    //Timeout de las llamadas internas entre nodos
+    private long timeoutMs = 300;
+    //Cantidad de veredictos remotos cacheados en memoria
+    private int cacheSize = 10_000;
+}
@@ -0,0 +1,38 @@
+package com.mutantes.mutant_detector.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.filter.RequestDecompressionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+//Descompresión de cuerpos gzip/zstd en los endpoints que reciben ADN. Va primero en la cadena:
+//la captura de tráfico guarda el cuerpo ya descomprimido y el control de admisión manda el request
+//al carril más grande (el largo comprimido no sirve para estimar N)
+@Configuration
+@ConditionalOnProperty(name = "mutant.decompression.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDecompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestDecompressionFilter> requestDecompressionFilter(
+            @Value("${mutant.decompression.max-bytes:0}") long maxBytes,
+            @Value("${mutant.decompression.stream-max-bytes:4294967296}") long streamMaxBytes,
+            @Value("${mutant.binary.max-n:20000}") int maxN,
+            ObjectMapper objectMapper) {
+        long limit = maxBytes > 0 ? maxBytes : maxBodyBytes(maxN);
+        FilterRegistrationBean<RequestDecompressionFilter> registration =
+                new FilterRegistrationBean<>(new RequestDecompressionFilter(limit, streamMaxBytes, objectMapper));
+        registration.addUrlPatterns("/mutant/*", "/motifs");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    //Cuerpo más grande que se acepta fuera de /mutant/stream: el JSON de una matriz de N = max-n, con margen por fila para
+    //comillas, comas e indentación (el binario, N^2/4 bytes, siempre es menor)
+    static long maxBodyBytes(int maxN) {
+        return (long) maxN * (maxN + 16) + 1024;
+    }
+}
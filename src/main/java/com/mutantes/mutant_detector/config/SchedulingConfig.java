@@ -0,0 +1,10 @@
+package com.mutantes.mutant_detector.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//Habilita las tareas periódicas (@Scheduled) de los servicios
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
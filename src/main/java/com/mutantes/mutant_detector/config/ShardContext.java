@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.config;
+
+//Shard activo para el hilo actual: lo consulta ShardRoutingDataSource al pedir una conexión.
+//Debe fijarse antes de abrir la transacción que va a usar ese shard.
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
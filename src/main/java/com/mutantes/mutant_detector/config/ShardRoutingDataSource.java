@@ -0,0 +1,27 @@
+package com.mutantes.mutant_detector.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+//DataSource que delega en el shard fijado en ShardContext (shard 0 si no hay ninguno).
+//Los pools de cada shard los crea ShardingConfig a mano: se cierran acá al destruir el contexto
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mutantes.mutant_detector.config;
+
+import com.mutantes.mutant_detector.service.DnaShards;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+//Modo sharded (perfil "sharded"): dna_records se reparte en K bases H2 independientes
+//elegidas por prefijo del hash, así los inserts de distintos shards no compiten
+//por el mismo índice único ni por los mismos locks.
+@Configuration
+@Profile("sharded")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource shardRoutingDataSource(
+            @Value("${mutant.sharding.shards}") int shards,
+            @Value("${mutant.sharding.url-template}") String urlTemplate,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards; i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(urlTemplate.replace("{shard}", String.valueOf(i)));
+            shard.setUsername(username);
+            shard.setPassword(password);
+            targets.put(i, shard);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        return routing;
+    }
+
+    //Hibernate solo crea el esquema sobre la conexión por defecto: se exporta en cada shard
+    @Bean
+    @Lazy(false)
+    public SmartInitializingSingleton shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                             DnaShards dnaShards) {
+        return () -> {
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+                ShardContext.set(shard);
+                try {
+                    sessionFactory.getSchemaManager().exportMappedObjects(false);
+                } finally {
+                    ShardContext.clear();
+                }
+            }
+        };
+    }
+}
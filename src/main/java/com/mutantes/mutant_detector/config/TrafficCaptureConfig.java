@@ -0,0 +1,37 @@
+package com.mutantes.mutant_detector.config;
+
+import com.mutantes.mutant_detector.capture.TrafficCaptureWriter;
+import com.mutantes.mutant_detector.filter.TrafficCaptureFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+//Captura opt-in de POST /mutant (mutant.capture.enabled=true). Corre antes que el control
+//de admisión para registrar también las requests rechazadas con 503
+@Configuration
+@EnableConfigurationProperties(CaptureProperties.class)
+@ConditionalOnProperty(name = "mutant.capture.enabled", havingValue = "true")
+public class TrafficCaptureConfig {
+
+    @Bean(destroyMethod = "close")
+    public TrafficCaptureWriter trafficCaptureWriter(CaptureProperties properties) throws IOException {
+        return new TrafficCaptureWriter(Path.of(properties.getDir()), properties.getMaxFileBytes(),
+                properties.getMaxFiles(), properties.getQueueSize());
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(TrafficCaptureWriter writer,
+                                                                             CaptureProperties properties) {
+        FilterRegistrationBean<TrafficCaptureFilter> registration = new FilterRegistrationBean<>(
+                new TrafficCaptureFilter(writer, properties.getSampleRate(), properties.getMaxBodyBytes()));
+        registration.addUrlPatterns("/mutant", "/mutant/stream");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.exception.ExportBusyException;
+import com.mutantes.mutant_detector.service.DnaExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Requiere el token interno (InternalAuthConfig) y admite pocas descargas a la vez: cada una ocupa
+//un hilo async y consultas a la base mientras el cliente siga leyendo
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+    //Timeout async <= 0: el contenedor no corta la respuesta
+    private static final long SIN_TIMEOUT = -1;
+
+    private final DnaExportService dnaExportService;
+    private final Semaphore exportPermits;
+
+    public ExportController(DnaExportService dnaExportService,
+                            @Value("${mutant.export.max-concurrent:2}") int maxConcurrent) {
+        this.dnaExportService = dnaExportService;
+        this.exportPermits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    @GetMapping("/dna-records")
+    @Operation(summary = "Exportar todos los veredictos como CSV o NDJSON comprimido (gzip)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo .gz generado en streaming"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "401", description = "Token interno inválido o ausente"),
+            @ApiResponse(responseCode = "503", description = "Demasiadas exportaciones en curso")
+    })
+    public WebAsyncTask<Void> exportRecords(@RequestParam(defaultValue = "ndjson") String format,
+                                            HttpServletResponse response) {
+        DnaExportService.Format exportFormat = DnaExportService.Format.from(format);
+        if (!exportPermits.tryAcquire()) {
+            throw new ExportBusyException("Hay demasiadas exportaciones en curso, reintente más tarde");
+        }
+        //El permiso se libera una sola vez: al terminar de escribir o si el request async termina antes
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        };
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportFormat.getFileName()).build().toString());
+        //Se escribe en un hilo async de MVC a medida que se leen las páginas. Sin timeout solo
+        //para esta descarga: el resto de los requests async conserva el timeout por defecto
+        WebAsyncTask<Void> task = new WebAsyncTask<>(SIN_TIMEOUT, () -> {
+            try {
+                OutputStream output = response.getOutputStream();
+                dnaExportService.export(exportFormat, output);
+                output.flush();
+                return null;
+            } finally {
+                release.run();
+            }
+        });
+        task.onCompletion(release);
+        return task;
+    }
+}
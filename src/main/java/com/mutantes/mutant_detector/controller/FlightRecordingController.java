@@ -0,0 +1,66 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.service.FlightRecordingService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+//Endpoint operativo: graba JFR durante N segundos y devuelve el .jfr. No forma parte de la API pública:
+//solo existe con mutant.jfr.enabled=true y exige el secreto compartido (InternalAuthFilter).
+@Hidden
+@RestController
+@RequestMapping("/internal/jfr")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mutant.jfr.enabled", havingValue = "true")
+public class FlightRecordingController {
+    private final FlightRecordingService flightRecordingService;
+
+    @PostMapping("/recordings")
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> record(@RequestParam(defaultValue = "30") long seconds) {
+        //Se responde al terminar la grabación sin ocupar un hilo de Tomcat mientras tanto. Sin timeout
+        //async: la grabación siempre termina dentro de mutant.jfr.max-duration-seconds
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result = new DeferredResult<>(-1L);
+        //transfer borra el .jfr al copiarlo; si el request termina sin llegar a copiarlo (cliente
+        //desconectado, error del async) se borra al completarse
+        AtomicReference<Path> pending = new AtomicReference<>();
+        result.onCompletion(() -> discard(pending));
+        flightRecordingService.record(seconds).whenComplete((file, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            pending.set(file);
+            boolean delivered = result.setResult(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("mutant.jfr").build().toString())
+                    .body(out -> flightRecordingService.transfer(file, out)));
+            if (!delivered) {
+                //El request ya había terminado: nadie va a descargar el archivo
+                discard(pending);
+            }
+        });
+        return result;
+    }
+
+    private void discard(AtomicReference<Path> pending) {
+        Path file = pending.getAndSet(null);
+        if (file != null) {
+            flightRecordingService.delete(file);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.dto.ReverificationResponse;
+import com.mutantes.mutant_detector.service.DnaReverificationService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+//Endpoint operativo: re-verifica las muestras guardadas (mutant.storage.packed-dna=true)
+//con el detector actual. No forma parte de la API pública: sin muestras guardadas no hay
+//nada que re-verificar y no se registra; exige el secreto compartido (InternalAuthFilter).
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "mutant.storage.packed-dna", havingValue = "true")
+@RequestMapping("/internal/reverifications")
+@RequiredArgsConstructor
+public class InternalReverificationController {
+    private final DnaReverificationService dnaReverificationService;
+
+    @PostMapping
+    public ResponseEntity<ReverificationResponse> start() {
+        return ResponseEntity.accepted().body(dnaReverificationService.start()); // 202 Accepted
+    }
+
+    @GetMapping
+    public ResponseEntity<ReverificationResponse> status() {
+        return ResponseEntity.ok(dnaReverificationService.status());
+    }
+}
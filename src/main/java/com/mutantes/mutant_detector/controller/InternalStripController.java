@@ -0,0 +1,44 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.service.StripWorkerService;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+//Endpoints internos de la detección distribuida: el coordinador envía franjas de la matriz
+//(una base ASCII por byte) y cancela las que siguen en curso. No forman parte de la API pública:
+//solo existen en los nodos configurados como worker y exigen el secreto compartido.
+@Hidden
+@RestController
+@RequestMapping("/internal/strips")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mutant.distributed.worker", havingValue = "true")
+public class InternalStripController {
+    private final StripWorkerService stripWorkerService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public CompletableFuture<ResponseEntity<String>> scan(@RequestParam("job") String jobId,
+                                                          @RequestParam("n") int n,
+                                                          @RequestParam("owned") int ownedRows,
+                                                          @RequestParam(value = "limit", defaultValue = "2") int limit,
+                                                          @RequestParam(value = "budgetMs", defaultValue = "0") long budgetMs,
+                                                          HttpServletRequest request) throws IOException {
+        byte[] body = stripWorkerService.readStrip(request.getInputStream(), request.getContentLengthLong());
+        //El conteo corre en el pool de detección sin ocupar un hilo de Tomcat
+        return stripWorkerService.scan(jobId, n, ownedRows, limit, budgetMs, body)
+                .thenApply(sequences -> ResponseEntity.ok(String.valueOf(sequences)));
+    }
+
+    @DeleteMapping("/{job}")
+    public ResponseEntity<Void> cancel(@PathVariable("job") String jobId) {
+        stripWorkerService.cancel(jobId);
+        return ResponseEntity.noContent().build();
+    }
+}
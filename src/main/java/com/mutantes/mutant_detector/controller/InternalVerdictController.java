@@ -0,0 +1,57 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaHashException;
+import com.mutantes.mutant_detector.service.MutantService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.regex.Pattern;
+
+//Endpoints internos del modo peer: otros nodos consultan y entregan veredictos
+//de los hashes de los que esta instancia es dueña. No forman parte de la API pública:
+//solo existen en modo peer y exigen el secreto compartido (InternalAuthFilter).
+//El PUT trae solo el veredicto, no la matriz: estos registros no tienen muestra en dna_samples
+//y la re-verificación no los ve.
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "mutant.peers.enabled", havingValue = "true")
+@RequestMapping("/internal/verdicts")
+@RequiredArgsConstructor
+public class InternalVerdictController {
+    //SHA-256 en hexadecimal en minúsculas, tal como lo produce MutantService
+    private static final Pattern DNA_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final MutantService mutantService;
+
+    @GetMapping("/{hash}")
+    public ResponseEntity<String> getVerdict(@PathVariable String hash) {
+        validateHash(hash);
+        return mutantService.findVerdict(hash)
+                .map(isMutant -> ResponseEntity.ok(String.valueOf(isMutant)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{hash}")
+    public ResponseEntity<Void> putVerdict(@PathVariable String hash, @RequestParam("mutant") boolean isMutant) {
+        validateHash(hash);
+        if (mutantService.findVerdict(hash).isEmpty()) {
+            try {
+                mutantService.recordVerdict(hash, isMutant);
+            } catch (DataIntegrityViolationException e) {
+                //Otro nodo entregó el mismo hash al mismo tiempo: el PUT es idempotente
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    //Un hash arbitrario no debe llegar a DnaShards.shardOf ni quedar guardado como veredicto
+    private static void validateHash(String hash) {
+        if (!DNA_HASH.matcher(hash).matches()) {
+            throw new InvalidDnaHashException("El hash debe ser un SHA-256 en hexadecimal (64 caracteres [0-9a-f])");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.dto.MotifRequest;
+import com.mutantes.mutant_detector.dto.MotifSearchResponse;
+import com.mutantes.mutant_detector.service.MotifSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/motifs")
+@RequiredArgsConstructor
+public class MotifController {
+    private final MotifSearchService motifSearchService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Buscar motivos de bases en filas, columnas y diagonales (no se guarda el ADN)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conteos y posiciones por motivo"),
+            @ApiResponse(responseCode = "400", description = "ADN o motivos inválidos")
+    })
+    public ResponseEntity<MotifSearchResponse> search(@Valid @RequestBody MotifRequest request) {
+        return ResponseEntity.ok(motifSearchService.search(request.getDna(), request.getMotifs(), request.getStopAfter()));
+    }
+}
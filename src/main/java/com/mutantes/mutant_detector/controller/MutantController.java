@@ -1,27 +1,39 @@
 package com.mutantes.mutant_detector.controller;
 
 
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
 import com.mutantes.mutant_detector.dto.DnaRequest;
 import com.mutantes.mutant_detector.dto.StatsResponse;
 import com.mutantes.mutant_detector.service.MutantService;
-import com.mutantes.mutant_detector.service.StatsService;
+import com.mutantes.mutant_detector.service.StatsResponseCache;
+import com.mutantes.mutant_detector.service.StreamingDnaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/")
 @RequiredArgsConstructor
 public class MutantController {
     private final MutantService mutantService;
-    private final StatsService statsService;
+    private final StatsResponseCache statsResponseCache;
+    private final PackedDnaCodec packedDnaCodec;
+    private final StreamingDnaService streamingDnaService;
 
-    @PostMapping("/mutant")
+    @PostMapping(value = "/mutant", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Verificar si un ADN es mutante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Es mutante"),
@@ -30,6 +42,35 @@ public class MutantController {
     })
     public ResponseEntity<Void> checkMutant(@Valid @RequestBody DnaRequest request) {
         boolean isMutant = mutantService.verifyAndSave(request.getDna());
+        return verdict(isMutant);
+    }
+
+    @PostMapping(value = "/mutant", consumes = PackedDnaCodec.MEDIA_TYPE)
+    @Operation(summary = "Verificar si un ADN es mutante (formato binario: N + bases de 2 bits)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Es mutante"),
+            @ApiResponse(responseCode = "403", description = "No es mutante"),
+            @ApiResponse(responseCode = "400", description = "ADN inválido")
+    })
+    public ResponseEntity<Void> checkMutantPacked(InputStream body) throws IOException {
+        byte[][] dna = packedDnaCodec.decode(body);
+        boolean isMutant = mutantService.verifyAndSaveMatrix(dna);
+        return verdict(isMutant);
+    }
+
+    @PostMapping(value = "/mutant/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Verificar un ADN muy grande leyendo el body fila por fila (memoria O(N))")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Es mutante"),
+            @ApiResponse(responseCode = "403", description = "No es mutante"),
+            @ApiResponse(responseCode = "400", description = "ADN inválido")
+    })
+    public ResponseEntity<Void> checkMutantStream(InputStream body) throws IOException {
+        boolean isMutant = streamingDnaService.verifyAndSave(body);
+        return verdict(isMutant);
+    }
+
+    private ResponseEntity<Void> verdict(boolean isMutant) {
         if (isMutant) {
             return ResponseEntity.ok().build(); // 200 OK
         } else {
@@ -37,8 +78,26 @@ public class MutantController {
         }
     }
 
-    @GetMapping("/stats")
-    public StatsResponse getStats() {
-        return statsService.getStats();
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Obtener estadísticas de verificaciones")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas actuales",
+                    content = @Content(schema = @Schema(implementation = StatsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios respecto del ETag enviado")
+    })
+    public ResponseEntity<byte[]> getStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        StatsResponseCache.Snapshot snapshot = statsResponseCache.current();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED) // 304 Not Modified
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
     }
 }
@@ -0,0 +1,64 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.dto.DnaRequest;
+import com.mutantes.mutant_detector.dto.JobResponse;
+import com.mutantes.mutant_detector.service.MutantJob;
+import com.mutantes.mutant_detector.service.MutantJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/mutant/jobs")
+public class MutantJobController {
+    private final MutantJobService mutantJobService;
+    private final long maxWaitMillis;
+
+    public MutantJobController(MutantJobService mutantJobService,
+                               @Value("${mutant.jobs.max-wait-ms:25000}") long maxWaitMillis) {
+        this.mutantJobService = mutantJobService;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Encolar la verificación asíncrona de un ADN (matrices grandes)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job aceptado (o ya existente para el mismo ADN)"),
+            @ApiResponse(responseCode = "400", description = "ADN inválido"),
+            @ApiResponse(responseCode = "429", description = "Cola de verificaciones llena")
+    })
+    public ResponseEntity<JobResponse> submit(@Valid @RequestBody DnaRequest request) {
+        MutantJob job = mutantJobService.submit(request.getDna());
+        return ResponseEntity.accepted()
+                .location(URI.create("/mutant/jobs/" + job.getId()))
+                .body(job.toResponse()); // 202 Accepted
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar un job; con waitMs espera (long-poll) hasta que termine")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado actual del job"),
+            @ApiResponse(responseCode = "404", description = "Job inexistente o expirado")
+    })
+    public CompletableFuture<ResponseEntity<JobResponse>> get(@PathVariable String id,
+                                                              @RequestParam(defaultValue = "0") long waitMs) {
+        MutantJob job = mutantJobService.get(id);
+        long wait = Math.min(Math.max(waitMs, 0), maxWaitMillis);
+        if (wait == 0 || job.isFinished()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(job.toResponse()));
+        }
+        //Long-poll sin bloquear un hilo de Tomcat: se responde al terminar o al vencer la espera
+        return job.getCompletion().copy()
+                .completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> ResponseEntity.ok(job.toResponse()));
+    }
+}
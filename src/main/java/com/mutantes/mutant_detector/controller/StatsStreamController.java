@@ -0,0 +1,26 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.service.StatsStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+public class StatsStreamController {
+    private final StatsStreamService statsStreamService;
+
+    @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Recibir las estadísticas en vivo (Server-Sent Events, evento \"stats\")")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado actual y luego un evento por cada cambio")
+    })
+    public SseEmitter streamStats() {
+        return statsStreamService.subscribe();
+    }
+}
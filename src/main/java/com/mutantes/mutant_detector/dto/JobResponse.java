@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "JobResponse", description = "Estado de una verificación asíncrona de ADN")
+public class JobResponse {
+    @Schema(description = "Identificador del job", example = "3f1c2a9e-7d4b-4f0a-9a51-2b8f0c7e6d11")
+    private String id;
+    @Schema(description = "Estado del job", example = "DONE", allowableValues = {"QUEUED", "RUNNING", "DONE", "FAILED"})
+    private String status;
+    @Schema(description = "Resultado: true si es mutante (solo cuando el estado es DONE)", example = "true")
+    private Boolean mutant;
+    @Schema(description = "Motivo del error (solo cuando el estado es FAILED)", example = "El ADN contiene filas nulas")
+    private String error;
+}
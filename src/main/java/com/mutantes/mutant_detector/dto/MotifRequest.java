@@ -0,0 +1,36 @@
+package com.mutantes.mutant_detector.dto;
+
+import com.mutantes.mutant_detector.validation.ValidDnaSequence;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para buscar motivos de bases en las cuatro direcciones de un ADN")
+public class MotifRequest {
+    @Schema(
+            description = "Secuencia de ADN representada como matriz NxN",
+            example = "[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]",
+            required = true
+    )
+    @NotNull(message = "El ADN no puede ser nulo")
+    @NotEmpty(message = "El ADN no puede estar vacío")
+    @ValidDnaSequence
+    private String[] dna;
+
+    @Schema(description = "Motivos a buscar (solo A, T, C, G)", example = "[\"CCCC\",\"GAT\"]", required = true)
+    @NotEmpty(message = "Debe indicarse al menos un motivo")
+    private List<String> motifs;
+
+    @Schema(description = "Corta la búsqueda al llegar a esta cantidad de coincidencias (0 = sin corte)", example = "2")
+    @PositiveOrZero(message = "stopAfter no puede ser negativo")
+    private int stopAfter;
+}
@@ -0,0 +1,46 @@
+package com.mutantes.mutant_detector.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "MotifSearchResponse", description = "Coincidencias de cada motivo en filas, columnas y diagonales")
+public class MotifSearchResponse {
+    @Schema(description = "Total de coincidencias encontradas", example = "3")
+    private long totalMatches;
+    @Schema(description = "true si se alcanzó stopAfter: la búsqueda se cortó y los conteos son parciales", example = "false")
+    private boolean thresholdReached;
+    private List<MotifMatches> motifs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "MotifMatches", description = "Coincidencias de un motivo")
+    public static class MotifMatches {
+        @Schema(description = "Motivo buscado", example = "CCCC")
+        private String motif;
+        @Schema(description = "Cantidad de coincidencias (incluye solapadas)", example = "1")
+        private long count;
+        @Schema(description = "Posiciones de inicio, en orden de recorrido y limitadas por mutant.motif.max-positions")
+        private List<MotifPosition> positions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "MotifPosition", description = "Celda donde empieza una coincidencia y dirección de lectura")
+    public static class MotifPosition {
+        @Schema(example = "4")
+        private int row;
+        @Schema(example = "0")
+        private int col;
+        @Schema(example = "HORIZONTAL", allowableValues = {"HORIZONTAL", "VERTICAL", "DIAGONAL_DOWN", "DIAGONAL_UP"})
+        private String direction;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReverificationResponse {
+    //IDLE, RUNNING, DONE o FAILED
+    private String status;
+    private long processed;
+    private long changed;
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
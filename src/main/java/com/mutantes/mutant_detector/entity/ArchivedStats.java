@@ -0,0 +1,25 @@
+package com.mutantes.mutant_detector.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Totales de registros eliminados por la retención: /stats suma estos contadores
+//a los de dna_records para que los totales no bajen al purgar
+@Entity
+@Table(name = "archived_stats")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedStats {
+    //Una única fila por base (por shard en modo sharded)
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(name = "mutant_count", nullable = false)
+    private long mutantCount;
+    @Column(name = "human_count", nullable = false)
+    private long humanCount;
+}
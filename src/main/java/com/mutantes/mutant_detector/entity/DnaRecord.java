@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -18,6 +20,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+//Caché de segundo nivel de la entidad; solo activa con el perfil l2cache (los duplicados
+//se resuelven con la caché de consultas de findIsMutantByDnaHash)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dna-records")
 public class DnaRecord {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,24 @@
+package com.mutantes.mutant_detector.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//ADN original empaquetado a 2 bits (formato de PackedDnaCodec), guardado aparte de dna_records
+//para que los lookups y la caché L2 de veredictos no carguen el LOB.
+//Permite re-verificar veredictos viejos cuando cambia el detector.
+@Entity
+@Table(name = "dna_samples")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DnaSample {
+    //Mismo id que el DnaRecord al que pertenece
+    @Id
+    @Column(name = "record_id")
+    private Long recordId;
+    @Lob
+    @Column(name = "packed", nullable = false)
+    private byte[] packed;
+}
@@ -0,0 +1,11 @@
+package com.mutantes.mutant_detector.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//Evento publicado cada vez que cambia el contenido de dna_records (altas, bajas o actualizaciones)
+@Getter
+@RequiredArgsConstructor
+public class DnaRecordsChangedEvent {
+    private final long affectedRecords;
+}
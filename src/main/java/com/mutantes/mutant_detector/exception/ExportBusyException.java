@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class ExportBusyException extends RuntimeException {
+    public ExportBusyException(String message) {
+        super(message);
+    }
+}
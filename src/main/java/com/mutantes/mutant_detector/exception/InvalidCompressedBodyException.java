@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class InvalidCompressedBodyException extends RuntimeException {
+    public InvalidCompressedBodyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class InvalidDnaHashException extends RuntimeException {
+    public InvalidDnaHashException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
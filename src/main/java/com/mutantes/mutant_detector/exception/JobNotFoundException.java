@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
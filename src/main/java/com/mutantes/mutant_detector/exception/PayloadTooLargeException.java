@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
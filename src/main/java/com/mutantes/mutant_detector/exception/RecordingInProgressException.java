@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class RecordingInProgressException extends RuntimeException {
+    public RecordingInProgressException(String message) {
+        super(message);
+    }
+}
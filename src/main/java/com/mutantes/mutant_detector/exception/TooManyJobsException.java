@@ -0,0 +1,7 @@
+package com.mutantes.mutant_detector.exception;
+
+public class TooManyJobsException extends RuntimeException {
+    public TooManyJobsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.config.AdmissionProperties;
+import com.mutantes.mutant_detector.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+//Control de admisión de POST /mutant: clasifica cada request en un carril según el N estimado
+//a partir del Content-Length (antes de leer el cuerpo), así los 6x6 no esperan detrás
+//de las matrices grandes. Si el carril está lleno responde 503 con Retry-After.
+//Un cuerpo comprimido va siempre al último carril: su largo no dice nada del N real.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final List<AdmissionLane> lanes;
+    private final long maxQueueWaitMillis;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper) {
+        if (properties.getLanes().isEmpty()) {
+            throw new IllegalStateException("mutant.admission.lanes necesita al menos un carril");
+        }
+        this.lanes = properties.getLanes().stream()
+                .map(lane -> new AdmissionLane(lane.getName(), lane.getMaxN(), lane.getConcurrency(), lane.getQueueSize()))
+                .toList();
+        this.maxQueueWaitMillis = properties.getMaxQueueWaitMs();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        //RequestDecompressionFilter ya quitó Content-Length (=> peor caso); el header se revisa igual
+        //por si la descompresión está deshabilitada
+        int estimatedN = isCompressed(request)
+                ? Integer.MAX_VALUE
+                : estimateN(request.getContentLengthLong(), request.getContentType());
+        AdmissionLane lane = laneFor(estimatedN);
+        boolean admitted;
+        try {
+            admitted = lane.tryEnter(maxQueueWaitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            reject(request, response, lane);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            lane.exit();
+        }
+    }
+
+    private static boolean isCompressed(HttpServletRequest request) {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && !encoding.isBlank() && !"identity".equalsIgnoreCase(encoding.trim());
+    }
+
+    AdmissionLane laneFor(int estimatedN) {
+        for (AdmissionLane lane : lanes) {
+            if (estimatedN <= lane.getMaxN()) {
+                return lane;
+            }
+        }
+        return lanes.get(lanes.size() - 1);
+    }
+
+    //JSON: cada fila ocupa ~N+3 bytes ("...",) => largo ~ N^2. Binario: 4 bytes de N + N^2/4 bytes.
+    //Sin Content-Length (chunked o descomprimido por el filtro) se asume el peor caso.
+    static int estimateN(long contentLength, String contentType) {
+        if (contentLength < 0) {
+            return Integer.MAX_VALUE;
+        }
+        long cells = contentType != null && contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                ? Math.max(contentLength - 4, 0) * 4
+                : contentLength;
+        return (int) Math.sqrt((double) cells);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdmissionLane lane) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Carril '" + lane.getName() + "' saturado, reintente más tarde")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mutantes.mutant_detector.filter;
+
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Carril de admisión: límite de concurrencia propio y cola acotada de espera
+public class AdmissionLane {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxN;
+    private final Semaphore permits;
+    private final int queueSize;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public AdmissionLane(String name, int maxN, int concurrency, int queueSize) {
+        this.name = name;
+        this.maxN = maxN;
+        this.permits = new Semaphore(concurrency);
+        this.queueSize = queueSize;
+    }
+
+    //true si el request puede pasar; false si el carril está lleno (se descarta la carga)
+    public boolean tryEnter(long maxWaitMillis) throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > queueSize) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+}
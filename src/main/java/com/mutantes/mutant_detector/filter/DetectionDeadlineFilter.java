@@ -0,0 +1,74 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.mutantes.mutant_detector.service.DetectionDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//Fija el deadline de detección de POST /mutant y POST /motifs: el valor por defecto o el pedido
+//por el cliente en el header X-Request-Timeout-Ms (acotado por el máximo configurado).
+//POST /mutant/stream incluye la lectura del cuerpo, así que usa su propio límite (más largo).
+//POST /mutant/jobs no lleva deadline: la detección corre en los workers acotados del job.
+@Component
+public class DetectionDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final String STREAM_PATH = "/mutant/stream";
+
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+    //Por defecto y máximo de /mutant/stream
+    private final long streamTimeoutMillis;
+
+    public DetectionDeadlineFilter(@Value("${mutant.detection.default-timeout-ms:5000}") long defaultTimeoutMillis,
+                                   @Value("${mutant.detection.max-timeout-ms:30000}") long maxTimeoutMillis,
+                                   @Value("${mutant.detection.stream-timeout-ms:600000}") long streamTimeoutMillis) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !("POST".equals(request.getMethod())
+                && ("/mutant".equals(path) || "/motifs".equals(path) || STREAM_PATH.equals(path)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long timeoutMillis = STREAM_PATH.equals(request.getServletPath())
+                ? Math.min(requestedTimeout(request, streamTimeoutMillis), streamTimeoutMillis)
+                : Math.min(requestedTimeout(request, defaultTimeoutMillis), maxTimeoutMillis);
+        DetectionDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DetectionDeadline.clear();
+        }
+    }
+
+    private long requestedTimeout(HttpServletRequest request, long defaultTimeoutMillis) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested > 0) {
+                    return requested;
+                }
+            } catch (NumberFormatException e) {
+                //Header inválido: se usa el valor por defecto
+            }
+        }
+        return defaultTimeoutMillis;
+    }
+}
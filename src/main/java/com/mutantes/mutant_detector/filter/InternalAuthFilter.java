@@ -0,0 +1,65 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.config.InternalProperties;
+import com.mutantes.mutant_detector.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+//Autenticación de /internal/** y /export/**: exige el secreto compartido en X-Internal-Token.
+//Sin mutant.internal.token configurado los endpoints internos quedan cerrados (403).
+public class InternalAuthFilter extends OncePerRequestFilter {
+
+    private final InternalProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public InternalAuthFilter(InternalProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.hasToken()) {
+            reject(request, response, HttpStatus.FORBIDDEN, "Endpoints internos deshabilitados (falta mutant.internal.token)");
+            return;
+        }
+        String provided = request.getHeader(InternalProperties.TOKEN_HEADER);
+        if (provided == null || !constantTimeEquals(provided, properties.getToken())) {
+            reject(request, response, HttpStatus.UNAUTHORIZED, "Token interno inválido o ausente");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    //Comparación en tiempo constante: no filtra por timing cuántos caracteres coinciden
+    private static boolean constantTimeEquals(String provided, String expected) {
+        return MessageDigest.isEqual(provided.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,233 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.dto.ErrorResponse;
+import com.mutantes.mutant_detector.exception.InvalidCompressedBodyException;
+import com.mutantes.mutant_detector.exception.PayloadTooLargeException;
+import io.airlift.compress.MalformedInputException;
+import io.airlift.compress.zstd.ZstdInputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+//Acepta cuerpos con Content-Encoding gzip o zstd: el controller lee el cuerpo ya descomprimido
+//a medida que lo consume (nunca se infla completo en memoria). Un límite sobre los bytes
+//descomprimidos corta las "bombas" de compresión con 413. POST /mutant/stream tiene su propio
+//límite: lee fila por fila y está pensado para matrices mucho más grandes que el resto.
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final List<String> GZIP = List.of("gzip", "x-gzip");
+    private static final String ZSTD = "zstd";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String STREAM_PATH = "/mutant/stream";
+
+    private final long maxDecompressedBytes;
+    //<= 0: sin límite (el detector streaming no acumula el cuerpo, pero una bomba lo ocupa hasta el deadline)
+    private final long maxStreamBytes;
+    private final ObjectMapper objectMapper;
+
+    public RequestDecompressionFilter(long maxDecompressedBytes, long maxStreamBytes, ObjectMapper objectMapper) {
+        this.maxDecompressedBytes = maxDecompressedBytes;
+        this.maxStreamBytes = maxStreamBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding == null || encoding.isBlank() || "identity".equalsIgnoreCase(encoding.trim());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase(Locale.ROOT);
+        if (!GZIP.contains(encoding) && !ZSTD.equals(encoding)) {
+            reject(request, response, encoding);
+            return;
+        }
+        chain.doFilter(new DecompressedRequest(request, encoding, limitFor(request)), response);
+    }
+
+    private long limitFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!STREAM_PATH.equals(path)) {
+            return maxDecompressedBytes;
+        }
+        return maxStreamBytes > 0 ? maxStreamBytes : Long.MAX_VALUE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String encoding) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
+                .error("Unsupported Media Type")
+                .message("Content-Encoding no soportado: " + encoding + " (se acepta gzip o zstd)")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+        response.setHeader("Accept-Encoding", "gzip, zstd");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    //Request con el cuerpo descomprimido: sin Content-Encoding y sin largo conocido.
+    //Sin largo, el control de admisión lo manda al último carril (peor caso)
+    static final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final DecompressingInputStream body;
+
+        DecompressedRequest(HttpServletRequest request, String encoding, long maxBytes) {
+            super(request);
+            this.body = new DecompressingInputStream(request, encoding, maxBytes);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(body, charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            return isHidden(name) ? -1 : super.getIntHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    //Descomprime a medida que se lee y cuenta los bytes entregados
+    static final class DecompressingInputStream extends ServletInputStream {
+
+        private final HttpServletRequest request;
+        private final String encoding;
+        private final long maxBytes;
+        private InputStream decoder;
+        private long total;
+        private boolean finished;
+
+        DecompressingInputStream(HttpServletRequest request, String encoding, long maxBytes) {
+            this.request = request;
+            this.encoding = encoding;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            int read;
+            try {
+                //El decodificador se abre en la primera lectura (gzip lee su cabecera al crearse)
+                if (decoder == null) {
+                    InputStream raw = request.getInputStream();
+                    decoder = ZSTD.equals(encoding) ? new ZstdInputStream(raw) : new GZIPInputStream(raw, BUFFER_SIZE);
+                }
+                read = decoder.read(buffer, offset, length);
+            } catch (ZipException | EOFException | MalformedInputException e) {
+                throw new InvalidCompressedBodyException("El cuerpo comprimido con " + encoding + " está dañado o incompleto");
+            }
+            if (read < 0) {
+                finished = true;
+                return -1;
+            }
+            total += read;
+            if (total > maxBytes) {
+                throw new PayloadTooLargeException("El cuerpo descomprimido supera el máximo permitido ("
+                        + maxBytes + " bytes)");
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        //Solo lectura bloqueante: el listener del cuerpo comprimido avisaría de bytes comprimidos
+        //disponibles, no de bytes descomprimidos, y un read() podría bloquear igual
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Lectura asíncrona no soportada para cuerpos comprimidos");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoder != null) {
+                decoder.close();
+            }
+        }
+    }
+}
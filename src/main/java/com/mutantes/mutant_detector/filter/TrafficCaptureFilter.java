@@ -0,0 +1,83 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.mutantes.mutant_detector.capture.CapturedRequest;
+import com.mutantes.mutant_detector.capture.TrafficCaptureWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//Muestrea requests de POST /mutant: guarda el cuerpo tal como llegó, el momento de llegada,
+//el status y la latencia. Solo las requests muestreadas pagan la copia del cuerpo.
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final TrafficCaptureWriter writer;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    public TrafficCaptureFilter(TrafficCaptureWriter writer, double sampleRate, int maxBodyBytes) {
+        this.writer = writer;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getContentLengthLong() > maxBodyBytes
+                || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long atMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        long start = System.nanoTime();
+        ContentCachingRequestWrapper cached = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        try {
+            chain.doFilter(cached, response);
+        } finally {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            //Si se respondió sin leer el cuerpo (503 de admisión, early exit del stream) se termina de leer
+            //acá, pero solo hasta maxBodyBytes: un cuerpo más largo no se captura y no vale la pena leerlo
+            drain(cached);
+            byte[] body = cached.getContentAsByteArray();
+            //Un cuerpo truncado por el límite no sirve para replay
+            boolean complete = body.length > 0 && body.length < maxBodyBytes
+                    && (request.getContentLengthLong() < 0 || body.length == request.getContentLengthLong());
+            if (complete) {
+                writer.offer(new CapturedRequest(atMicros, request.getServletPath(), request.getContentType(), body,
+                        response.getStatus(), latencyMicros));
+            }
+        }
+    }
+
+    private void drain(ContentCachingRequestWrapper cached) {
+        //Un byte más que el límite alcanza para saber que el cuerpo no entra (queda incompleto)
+        long budget = maxBodyBytes - cached.getContentAsByteArray().length + 1L;
+        try {
+            InputStream in = cached.getInputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (budget > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, budget));
+                if (read < 0) {
+                    break;
+                }
+                budget -= read;
+            }
+        } catch (IOException | IllegalStateException e) {
+            //El cuerpo se leyó con getReader() o la conexión ya no está: queda lo que se cacheó
+        }
+    }
+}
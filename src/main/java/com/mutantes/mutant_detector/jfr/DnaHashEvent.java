@@ -0,0 +1,20 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Cálculo del SHA-256 (crudo o canónico) que se usa como clave
+@Name("com.mutantes.DnaHash")
+@Label("DNA Hash")
+@Category({"Mutant Detector", "POST /mutant"})
+@StackTrace(false)
+public class DnaHashEvent extends Event {
+    @Label("N")
+    public int n;
+
+    @Label("Canonical")
+    public boolean canonical;
+}
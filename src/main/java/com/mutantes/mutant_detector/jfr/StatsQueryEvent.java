@@ -0,0 +1,29 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Conteos de /stats contra la BD (todos los shards + totales archivados)
+@Name("com.mutantes.StatsQuery")
+@Label("Stats Query")
+@Category({"Mutant Detector", "GET /stats"})
+@StackTrace(false)
+public class StatsQueryEvent extends Event {
+    @Label("Mutant Rows")
+    public long mutantRows;
+
+    @Label("Human Rows")
+    public long humanRows;
+
+    @Label("Archived Mutants")
+    public long archivedMutants;
+
+    @Label("Archived Humans")
+    public long archivedHumans;
+
+    @Label("Shards")
+    public int shards;
+}
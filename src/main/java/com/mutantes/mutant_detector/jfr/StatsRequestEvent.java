@@ -0,0 +1,20 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Resolución de /stats desde la caché de bytes serializados
+@Name("com.mutantes.StatsRequest")
+@Label("Stats Request")
+@Category({"Mutant Detector", "GET /stats"})
+@StackTrace(false)
+public class StatsRequestEvent extends Event {
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Body Bytes")
+    public int bodyBytes;
+}
@@ -0,0 +1,25 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Búsqueda de un veredicto ya conocido: local (BD/caché L2) o en el nodo dueño (modo peer)
+@Name("com.mutantes.VerdictLookup")
+@Label("Verdict Lookup")
+@Category({"Mutant Detector", "POST /mutant"})
+@StackTrace(false)
+public class VerdictLookupEvent extends Event {
+    @Label("Source")
+    @Description("local o peer")
+    public String source;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Shard")
+    public int shard;
+}
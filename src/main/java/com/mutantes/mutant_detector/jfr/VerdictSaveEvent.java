@@ -0,0 +1,25 @@
+package com.mutantes.mutant_detector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Registro de un veredicto nuevo: insert local o entrega al nodo dueño
+@Name("com.mutantes.VerdictSave")
+@Label("Verdict Save")
+@Category({"Mutant Detector", "POST /mutant"})
+@StackTrace(false)
+public class VerdictSaveEvent extends Event {
+    @Label("Target")
+    @Description("local o peer")
+    public String target;
+
+    @Label("Shard")
+    public int shard;
+
+    @Label("Mutant")
+    public boolean mutant;
+}
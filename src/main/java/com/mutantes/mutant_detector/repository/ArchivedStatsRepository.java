@@ -0,0 +1,9 @@
+package com.mutantes.mutant_detector.repository;
+
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedStatsRepository extends JpaRepository<ArchivedStats, Integer> {
+}
@@ -1,13 +1,48 @@
 package com.mutantes.mutant_detector.repository;
 
 import com.mutantes.mutant_detector.entity.DnaRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DnaRecordRepository extends JpaRepository<DnaRecord,Long> {
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
     long countByIsMutant(boolean isMutant);
+
+    //Proyección del veredicto: no hidrata la entidad ni la registra en el contexto de persistencia.
+    //Con la caché de consultas habilitada (perfil l2cache) los duplicados no llegan a JDBC.
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "dna-verdicts")
+    })
+    @Query("select d.isMutant from DnaRecord d where d.dnaHash = :dnaHash")
+    Optional<Boolean> findIsMutantByDnaHash(@Param("dnaHash") String dnaHash);
+
+    //Retención: ids vencidos de a un lote (usa el orden del PK, sin ordenar por fecha)
+    @Query("select d.id from DnaRecord d where d.createdAt < :cutoff order by d.id")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    //Borrado masivo por veredicto: devuelve cuántos se borraron de cada tipo para archivar los totales.
+    //Al ser JPQL, Hibernate invalida las regiones de caché L2 afectadas.
+    @Modifying
+    @Query("delete from DnaRecord d where d.id in :ids and d.isMutant = :isMutant")
+    int deleteByIdInAndIsMutant(@Param("ids") List<Long> ids, @Param("isMutant") boolean isMutant);
+
+    //Re-verificación: corrige veredictos de un lote de registros (JPQL: invalida la caché L2)
+    @Modifying
+    @Query("update DnaRecord d set d.isMutant = :isMutant where d.id in :ids")
+    int updateIsMutantByIdIn(@Param("ids") List<Long> ids, @Param("isMutant") boolean isMutant);
 }
@@ -0,0 +1,28 @@
+package com.mutantes.mutant_detector.repository;
+
+import com.mutantes.mutant_detector.entity.DnaSample;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DnaSampleRepository extends JpaRepository<DnaSample, Long> {
+
+    //Página por keyset sobre el id, con el veredicto vigente del registro (sin el LOB)
+    @Query("select new com.mutantes.mutant_detector.repository.StoredSample(s.recordId, d.isMutant) "
+            + "from DnaSample s, DnaRecord d where d.id = s.recordId and s.recordId > :afterId order by s.recordId")
+    List<StoredSample> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select s.packed from DnaSample s where s.recordId = :recordId")
+    Optional<byte[]> findPackedByRecordId(@Param("recordId") Long recordId);
+
+    @Modifying
+    @Query("delete from DnaSample s where s.recordId in :ids")
+    int deleteByRecordIdIn(@Param("ids") List<Long> ids);
+}
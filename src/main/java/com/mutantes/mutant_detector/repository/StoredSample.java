@@ -0,0 +1,6 @@
+package com.mutantes.mutant_detector.repository;
+
+//Registro con muestra guardada y su veredicto actual (para re-verificar). No trae el LOB:
+//las páginas son solo ids y la muestra se lee de a una al verificarla
+public record StoredSample(Long recordId, boolean isMutant) {
+}
@@ -0,0 +1,46 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.DnaHashCalculationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+//Anillo de hashing consistente: asigna cada hash de ADN a un nodo dueño.
+//Agregar o quitar un nodo solo mueve ~1/N de las claves.
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo");
+        }
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(position(node + "#" + i), node);
+            }
+        }
+    }
+
+    //El hash de ADN ya es SHA-256 en hexadecimal: sus primeros 64 bits están bien distribuidos
+    public String ownerOf(String dnaHash) {
+        long key = Long.parseUnsignedLong(dnaHash.substring(0, 16), 16);
+        Map.Entry<Long, String> entry = ring.ceilingEntry(key);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long position(String virtualNode) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(virtualNode.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new DnaHashCalculationException("Error calculando la posición en el anillo", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.DistributedProperties;
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Coordinador de la detección distribuida: parte la matriz en franjas horizontales con
+//3 filas de solapamiento, las reparte entre los workers y suma las secuencias de cada una.
+//Con 2 secuencias confirmadas responde y cancela las franjas que siguen en curso.
+@Slf4j
+@Service
+public class DistributedDetectionService {
+
+    private static final int LIMITE = 2;
+
+    private final DistributedProperties properties;
+    private final StripWorkerClient client;
+    private final ForkJoinPool detectionPool;
+    private final List<String> workers;
+
+    public DistributedDetectionService(DistributedProperties properties, StripWorkerClient client,
+                                       ForkJoinPool detectionPool) {
+        this.properties = properties;
+        this.client = client;
+        this.detectionPool = detectionPool;
+        this.workers = properties.getWorkers().stream()
+                .map(DistributedDetectionService::normalize)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .toList();
+        if (properties.isEnabled() && workers.isEmpty()) {
+            throw new IllegalStateException("mutant.distributed.workers no puede estar vacío si el modo distribuido está habilitado");
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    //true si conviene repartir una matriz de este tamaño
+    public boolean accepts(int n) {
+        return properties.isEnabled() && n >= properties.getMinN();
+    }
+
+    //La matriz ya viene validada (NxN, solo A/T/C/G) por MutantDetector
+    public boolean isMutant(byte[][] matrix) {
+        int n = matrix.length;
+        CancellationToken token = CancellationToken.withDeadline(DetectionDeadline.current());
+        String jobId = UUID.randomUUID().toString();
+        int stripRows = properties.getStripRows() > 0
+                ? properties.getStripRows()
+                : (n + workers.size() - 1) / workers.size();
+        //Cada franja viaja con hasta 3 filas de solapamiento y no puede superar lo que acepta el worker
+        long maxRows = properties.getMaxStripBytes() / n - StripSequenceCounter.SOLAPAMIENTO;
+        stripRows = (int) Math.max(1, Math.min(stripRows, maxRows));
+
+        AtomicInteger sequences = new AtomicInteger();
+        AtomicInteger pending = new AtomicInteger((n + stripRows - 1) / stripRows);
+        CompletableFuture<Boolean> verdict = new CompletableFuture<>();
+        List<CompletableFuture<Integer>> remoteScans = new ArrayList<>();
+        List<String> assignedWorkers = new ArrayList<>();
+
+        try {
+            //Sale antes si las franjas ya respondidas alcanzan para decidir
+            for (int from = 0, strip = 0; from < n && !verdict.isDone(); from += stripRows, strip++) {
+                int index = strip;
+                int owned = Math.min(stripRows, n - from);
+                byte[][] rows = Arrays.copyOfRange(matrix, from, Math.min(n, from + owned + StripSequenceCounter.SOLAPAMIENTO));
+                String worker = workers.get(strip % workers.size());
+
+                CompletableFuture<Integer> remote = client.scan(worker, jobId, Arrays.asList(rows), owned, LIMITE, stripTimeout(token));
+                remoteScans.add(remote);
+                assignedWorkers.add(worker);
+                remote.exceptionallyCompose(e -> {
+                            if (verdict.isDone()) {
+                                return CompletableFuture.completedFuture(0);
+                            }
+                            //Worker caído o lento: la franja se analiza acá para no perder el resultado
+                            log.warn("Franja {} del job {} sin respuesta de {}: se analiza localmente ({})",
+                                    index, jobId, worker, e.getMessage());
+                            return CompletableFuture.supplyAsync(
+                                    () -> StripSequenceCounter.count(rows, owned, LIMITE, token), detectionPool);
+                        })
+                        .whenComplete((count, e) -> {
+                            if (e != null) {
+                                verdict.completeExceptionally(e);
+                            } else if (sequences.addAndGet(count) >= LIMITE) {
+                                verdict.complete(true);
+                            } else if (pending.decrementAndGet() == 0) {
+                                verdict.complete(false);
+                            }
+                        });
+            }
+
+            return token.hasDeadline()
+                    ? verdict.get(Math.max(token.remainingNanos(), 0), TimeUnit.NANOSECONDS)
+                    : verdict.get();
+        } catch (TimeoutException e) {
+            throw timeout();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timeout();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            verdict.cancel(false); //Las franjas que fallen desde ahora ya no se reintentan localmente
+            token.cancel(); //Corta las franjas que se estén analizando localmente
+            cancelPending(jobId, remoteScans, assignedWorkers);
+        }
+    }
+
+    //Cancela las franjas remotas que siguen en curso y avisa una vez a cada worker involucrado
+    private void cancelPending(String jobId, List<CompletableFuture<Integer>> remoteScans, List<String> assignedWorkers) {
+        Set<String> toNotify = new LinkedHashSet<>();
+        for (int i = 0; i < remoteScans.size(); i++) {
+            if (!remoteScans.get(i).isDone()) {
+                remoteScans.get(i).cancel(true);
+                toNotify.add(assignedWorkers.get(i));
+            }
+        }
+        toNotify.forEach(worker -> client.cancel(worker, jobId));
+    }
+
+    private Duration stripTimeout(CancellationToken token) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMs());
+        long remaining = token.remainingNanos();
+        if (remaining <= 0) {
+            throw timeout();
+        }
+        //Al menos 1 ms: el worker interpreta 0 como "sin presupuesto"
+        return Duration.ofMillis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(Math.min(timeoutNanos, remaining))));
+    }
+
+    private static DetectionTimeoutException timeout() {
+        return new DetectionTimeoutException("La detección superó el tiempo límite del request");
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mutantes.mutant_detector.service;
+
+import java.util.concurrent.ForkJoinPool;
+
+//Detector del modo distribuido: mantiene la validación y las estrategias locales del núcleo
+//y reparte entre los workers solo las matrices que superan mutant.distributed.min-n
+public class DistributedMutantDetector extends MutantDetector {
+
+    private final DistributedDetectionService distributedDetection;
+
+    public DistributedMutantDetector(ForkJoinPool detectionPool, MicroBatcher microBatcher,
+                                     DistributedDetectionService distributedDetection) {
+        super(detectionPool, microBatcher);
+        this.distributedDetection = distributedDetection;
+    }
+
+    @Override
+    protected boolean detect(byte[][] matrix) {
+        return distributedDetection.accepts(matrix.length)
+                ? distributedDetection.isMutant(matrix)
+                : super.detect(matrix);
+    }
+}
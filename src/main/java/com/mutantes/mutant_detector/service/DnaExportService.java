@@ -0,0 +1,141 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.InvalidExportFormatException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+//Exportación masiva de dna_records con memoria constante: páginas por keyset sobre id
+//(consultas cortas, sin transacción larga que bloquee escrituras) leídas con cursor
+//forward-only y escritas en gzip directamente sobre el stream de salida
+@Service
+public class DnaExportService {
+
+    private static final String PAGE_QUERY =
+            "select id, dna_hash, is_mutant, created_at from dna_records where id > ? order by id limit ?";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileName() {
+            return "dna_records." + extension + ".gz";
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidExportFormatException("Formato de exportación inválido (se permite csv o ndjson)");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaShards dnaShards;
+    private final int pageSize;
+
+    public DnaExportService(DataSource dataSource, DnaShards dnaShards,
+                            @Value("${mutant.export.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(pageSize);
+        this.dnaShards = dnaShards;
+        this.pageSize = pageSize;
+    }
+
+    //Escribe todos los registros (de todos los shards) y devuelve la cantidad exportada
+    public long export(Format format, OutputStream output) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(output, 64 * 1024);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write("id,dna_hash,is_mutant,created_at\n");
+        }
+        long total = 0;
+        for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+            int current = shard;
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                PageResult page = dnaShards.onShard(current, () -> writePage(format, writer, afterId));
+                total += page.rows;
+                if (page.rows < pageSize) {
+                    break;
+                }
+                lastId = page.lastId;
+            }
+        }
+        writer.flush();
+        gzip.finish();
+        return total;
+    }
+
+    private PageResult writePage(Format format, Writer writer, long afterId) {
+        PageResult page = new PageResult();
+        jdbcTemplate.query(PAGE_QUERY, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            String hash = rs.getString(2);
+            boolean isMutant = rs.getBoolean(3);
+            Timestamp createdAt = rs.getTimestamp(4);
+            try {
+                writeRow(format, writer, id, hash, isMutant, createdAt);
+            } catch (IOException e) {
+                //El cliente cortó la descarga: se aborta la consulta
+                throw new UncheckedIOException(e);
+            }
+            page.rows++;
+            page.lastId = id;
+        }, afterId, pageSize);
+        return page;
+    }
+
+    private static void writeRow(Format format, Writer writer, long id, String hash,
+                                 boolean isMutant, Timestamp createdAt) throws IOException {
+        String created = createdAt == null ? null : createdAt.toLocalDateTime().toString();
+        if (format == Format.CSV) {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(hash);
+            writer.write(isMutant ? ",true," : ",false,");
+            writer.write(created == null ? "" : created);
+        } else {
+            //El hash es hexadecimal y la fecha ISO-8601: no hace falta escapar
+            writer.write("{\"id\":");
+            writer.write(Long.toString(id));
+            writer.write(",\"dnaHash\":\"");
+            writer.write(hash);
+            writer.write(isMutant ? "\",\"isMutant\":true" : "\",\"isMutant\":false");
+            writer.write(created == null ? ",\"createdAt\":null}" : ",\"createdAt\":\"" + created + "\"}");
+        }
+        writer.write('\n');
+    }
+
+    private static final class PageResult {
+        private long rows;
+        private long lastId;
+    }
+}
@@ -0,0 +1,121 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//Retención de dna_records por antigüedad (createdAt). Borra en lotes chicos, cada uno en su
+//propia transacción corta y con una pausa entre lotes, para no retener locks ni competir con /mutant.
+//Los totales borrados se suman a archived_stats para que /stats no cambie. Del registro no queda
+//nada más (ni el hash): el almacenamiento queda acotado, pero un ADN purgado que vuelve a llegar
+//se analiza y se cuenta de nuevo.
+@Slf4j
+@Service
+public class DnaRetentionService {
+
+    private final DnaRecordRepository dnaRecordRepository;
+    private final ArchivedStatsRepository archivedStatsRepository;
+    private final DnaSampleRepository dnaSampleRepository;
+    private final DnaShards dnaShards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long maxAgeDays;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public DnaRetentionService(DnaRecordRepository dnaRecordRepository,
+                               ArchivedStatsRepository archivedStatsRepository,
+                               DnaSampleRepository dnaSampleRepository,
+                               DnaShards dnaShards,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${mutant.retention.enabled:false}") boolean enabled,
+                               @Value("${mutant.retention.max-age-days:30}") long maxAgeDays,
+                               @Value("${mutant.retention.batch-size:500}") int batchSize,
+                               @Value("${mutant.retention.pause-ms:50}") long pauseMillis) {
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.archivedStatsRepository = archivedStatsRepository;
+        this.dnaSampleRepository = dnaSampleRepository;
+        this.dnaShards = dnaShards;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.retention.interval-ms:3600000}",
+            initialDelayString = "${mutant.retention.interval-ms:3600000}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purgeOlderThan(LocalDateTime.now().minusDays(maxAgeDays));
+        }
+    }
+
+    //Devuelve la cantidad de registros purgados en todos los shards
+    public long purgeOlderThan(LocalDateTime cutoff) {
+        long purged = 0;
+        for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+            int current = shard;
+            while (true) {
+                Integer deleted = dnaShards.onShard(current, () -> transactionTemplate.execute(status -> purgeBatch(cutoff)));
+                purged += deleted;
+                if (deleted < batchSize || !pause()) {
+                    break;
+                }
+            }
+        }
+        if (purged > 0) {
+            log.info("Retención: {} registros anteriores a {} archivados", purged, cutoff);
+            //Los totales no cambian, pero sí las filas: se avisa igual a quien cachea
+            eventPublisher.publishEvent(new DnaRecordsChangedEvent(purged));
+        }
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<Long> ids = dnaRecordRepository.findExpiredIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        dnaSampleRepository.deleteByRecordIdIn(ids);
+        int mutants = dnaRecordRepository.deleteByIdInAndIsMutant(ids, true);
+        int humans = dnaRecordRepository.deleteByIdInAndIsMutant(ids, false);
+
+        ArchivedStats archived = archivedStatsRepository.findById(ArchivedStats.SINGLETON_ID)
+                .orElseGet(() -> new ArchivedStats(ArchivedStats.SINGLETON_ID, 0, 0));
+        archived.setMutantCount(archived.getMutantCount() + mutants);
+        archived.setHumanCount(archived.getHumanCount() + humans);
+        archivedStatsRepository.save(archived);
+        //Se informa el tamaño del lote leído para decidir si sigue habiendo vencidos
+        return ids.size();
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
+import com.mutantes.mutant_detector.dto.ReverificationResponse;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
+import com.mutantes.mutant_detector.repository.StoredSample;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Re-verificación masiva: recorre dna_samples por keyset, pasa cada página por el detector
+//actual en chunks paralelos y corrige en un lote transaccional los veredictos que cambiaron.
+//Las páginas traen solo ids; cada worker lee y verifica una muestra por vez, así que en memoria
+//hay como mucho `parallelism` muestras sin importar su N.
+//Hace una pausa entre páginas y usa pocos hilos para convivir con el tráfico de /mutant.
+//Solo cubre veredictos con muestra: los de /mutant/stream y los entregados por otro nodo en modo
+//peer no la tienen y no se re-verifican.
+@Slf4j
+@Service
+public class DnaReverificationService {
+
+    private final DnaSampleRepository dnaSampleRepository;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final MutantDetector mutantDetector;
+    private final DnaShards dnaShards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    //Mismo límite mutant.binary.max-n que POST /mutant: una muestra más grande se cuenta como fallida
+    private final PackedDnaCodec codec;
+    private final int pageSize;
+    private final int parallelism;
+    private final long pauseMillis;
+    private final ExecutorService runner;
+    private final ExecutorService workers;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong changed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile String status = "IDLE";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public DnaReverificationService(DnaSampleRepository dnaSampleRepository,
+                                    DnaRecordRepository dnaRecordRepository,
+                                    MutantDetector mutantDetector,
+                                    PackedDnaCodec codec,
+                                    DnaShards dnaShards,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${mutant.reverify.page-size:200}") int pageSize,
+                                    @Value("${mutant.reverify.parallelism:2}") int parallelism,
+                                    @Value("${mutant.reverify.pause-ms:100}") long pauseMillis) {
+        this.dnaSampleRepository = dnaSampleRepository;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.mutantDetector = mutantDetector;
+        this.codec = codec;
+        this.dnaShards = dnaShards;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.pauseMillis = pauseMillis;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "dna-reverify"));
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> daemon(runnable, "dna-reverify-worker"));
+    }
+
+    //Inicia la re-verificación en segundo plano; si ya hay una corriendo devuelve su estado
+    public synchronized ReverificationResponse start() {
+        if (!"RUNNING".equals(status)) {
+            processed.set(0);
+            changed.set(0);
+            failed.set(0);
+            error = null;
+            finishedAt = null;
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+            runner.submit(this::runSafely);
+        }
+        return status();
+    }
+
+    public ReverificationResponse status() {
+        return new ReverificationResponse(status, processed.get(), changed.get(), failed.get(),
+                startedAt, finishedAt, error);
+    }
+
+    private void runSafely() {
+        try {
+            run();
+            status = "DONE";
+        } catch (RuntimeException e) {
+            log.error("Re-verificación interrumpida", e);
+            error = e.getMessage();
+            status = "FAILED";
+        } finally {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    //Recorre todos los shards; visible para tests (ejecución sincrónica)
+    void run() {
+        for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+            int current = shard;
+            long afterId = 0;
+            while (true) {
+                long cursor = afterId;
+                List<StoredSample> page = dnaShards.onShard(current, () -> readOnlyTemplate.execute(
+                        tx -> dnaSampleRepository.findPageAfter(cursor, PageRequest.of(0, pageSize))));
+                if (page.isEmpty()) {
+                    break;
+                }
+                applyChanges(current, verifyPage(current, page));
+                processed.addAndGet(page.size());
+                afterId = page.get(page.size() - 1).recordId();
+                if (page.size() < pageSize || !pause()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    //Divide la página en chunks y los verifica en paralelo; devuelve las muestras cuyo veredicto cambió
+    private List<StoredSample> verifyPage(int shard, List<StoredSample> page) {
+        int chunkSize = (page.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<List<StoredSample>>> chunks = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += chunkSize) {
+            List<StoredSample> chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> verifyChunk(shard, chunk), workers));
+        }
+        List<StoredSample> changedSamples = new ArrayList<>();
+        chunks.forEach(chunk -> changedSamples.addAll(chunk.join()));
+        return changedSamples;
+    }
+
+    private List<StoredSample> verifyChunk(int shard, List<StoredSample> chunk) {
+        List<StoredSample> changedSamples = new ArrayList<>();
+        for (StoredSample sample : chunk) {
+            try {
+                Optional<byte[]> packed = dnaShards.onShard(shard, () -> readOnlyTemplate.execute(
+                        tx -> dnaSampleRepository.findPackedByRecordId(sample.recordId())));
+                if (packed.isEmpty()) {
+                    //Borrada por la retención entre la página y la lectura
+                    continue;
+                }
+                byte[][] matrix = codec.decode(new ByteArrayInputStream(packed.get()));
+                boolean isMutant = mutantDetector.isMutantMatrix(matrix);
+                if (isMutant != sample.isMutant()) {
+                    changedSamples.add(new StoredSample(sample.recordId(), isMutant));
+                }
+            } catch (IOException | RuntimeException e) {
+                //Muestra corrupta: se cuenta y se sigue con el resto
+                log.warn("No se pudo re-verificar el registro {}: {}", sample.recordId(), e.getMessage());
+                failed.incrementAndGet();
+            }
+        }
+        return changedSamples;
+    }
+
+    //Un lote por página: dos updates (a mutante y a humano) en una transacción corta
+    private void applyChanges(int shard, List<StoredSample> changedSamples) {
+        if (changedSamples.isEmpty()) {
+            return;
+        }
+        List<Long> toMutant = new ArrayList<>();
+        List<Long> toHuman = new ArrayList<>();
+        for (StoredSample sample : changedSamples) {
+            (sample.isMutant() ? toMutant : toHuman).add(sample.recordId());
+        }
+        dnaShards.onShard(shard, () -> transactionTemplate.execute(tx -> {
+            if (!toMutant.isEmpty()) dnaRecordRepository.updateIsMutantByIdIn(toMutant, true);
+            if (!toHuman.isEmpty()) dnaRecordRepository.updateIsMutantByIdIn(toHuman, false);
+            return null;
+        }));
+        changed.addAndGet(changedSamples.size());
+        //Cambian los conteos: invalida la caché de /stats
+        eventPublisher.publishEvent(new DnaRecordsChangedEvent(changedSamples.size()));
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        workers.shutdownNow();
+    }
+}
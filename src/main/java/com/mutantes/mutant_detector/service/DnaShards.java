@@ -0,0 +1,79 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.ShardContext;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+//Ejecuta accesos a dna_records sobre el shard que corresponde.
+//Con un solo shard (modo normal) simplemente ejecuta la operación en el hilo actual.
+@Component
+public class DnaShards {
+
+    @Getter
+    private final int shardCount;
+    private final ExecutorService executor;
+
+    public DnaShards(@Value("${mutant.sharding.shards:1}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("mutant.sharding.shards debe ser >= 1");
+        }
+        this.shardCount = shardCount;
+        this.executor = shardCount > 1 ? Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "dna-shards");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    //El shard se elige por los primeros 16 bits del hash (SHA-256 en hexadecimal)
+    public int shardOf(String hash) {
+        return shardCount == 1 ? 0 : Integer.parseInt(hash.substring(0, 4), 16) % shardCount;
+    }
+
+    public <T> T onShardOf(String hash, Supplier<T> operation) {
+        return onShard(shardOf(hash), operation);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> operation) {
+        if (shardCount == 1) {
+            return operation.get();
+        }
+        ShardContext.set(shard);
+        try {
+            return operation.get();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    //Suma un valor calculado en todos los shards, consultándolos en paralelo
+    public long sumAcrossShards(ToLongFunction<Integer> operation) {
+        if (shardCount == 1) {
+            return operation.applyAsLong(0);
+        }
+        List<CompletableFuture<Long>> partials = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            partials.add(CompletableFuture.supplyAsync(
+                    () -> onShard(current, () -> operation.applyAsLong(current)), executor));
+        }
+        return partials.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
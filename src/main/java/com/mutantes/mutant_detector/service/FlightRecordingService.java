@@ -0,0 +1,107 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.RecordingInProgressException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Grabaciones JFR bajo demanda con el perfil jfr/mutant.jfc: graba durante un tiempo acotado
+//y devuelve el archivo .jfr para abrirlo con JDK Mission Control o "jfr print".
+//Solo se registra con mutant.jfr.enabled=true y admite una grabación a la vez.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "mutant.jfr.enabled", havingValue = "true")
+public class FlightRecordingService {
+    private static final String PERFIL = "jfr/mutant.jfc";
+
+    private final Configuration configuration;
+    private final long maxSeconds;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public FlightRecordingService(@Value("${mutant.jfr.max-duration-seconds:120}") long maxSeconds) {
+        this.maxSeconds = maxSeconds;
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PERFIL).getInputStream(), StandardCharsets.UTF_8)) {
+            this.configuration = Configuration.create(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Perfil JFR inválido: " + PERFIL, e);
+        }
+    }
+
+    //Graba sin bloquear al llamador; el resultado es el .jfr temporal que hay que pasar a transfer
+    public CompletableFuture<Path> record(long seconds) {
+        if (!recording.compareAndSet(false, true)) {
+            throw new RecordingInProgressException("Ya hay una grabación JFR en curso");
+        }
+        Duration duration = Duration.ofSeconds(Math.min(Math.max(seconds, 1), maxSeconds));
+        Recording jfr = new Recording(configuration);
+        try {
+            jfr.setName("mutant-" + System.currentTimeMillis());
+            jfr.setToDisk(true);
+            jfr.start();
+        } catch (RuntimeException e) {
+            jfr.close();
+            recording.set(false);
+            throw e;
+        }
+        log.info("Grabación JFR '{}' iniciada por {} s", jfr.getName(), duration.toSeconds());
+
+        return CompletableFuture.supplyAsync(() -> dump(jfr),
+                CompletableFuture.delayedExecutor(duration.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    //Copia el .jfr a la respuesta sin cargarlo en memoria y lo borra al terminar
+    public void transfer(Path file, OutputStream out) throws IOException {
+        try {
+            Files.copy(file, out);
+        } finally {
+            delete(file);
+        }
+    }
+
+    private Path dump(Recording jfr) {
+        Path file = null;
+        try (jfr) {
+            jfr.stop();
+            file = Files.createTempFile("mutant-", ".jfr");
+            jfr.dump(file);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                delete(file);
+            }
+            throw new UncheckedIOException(e);
+        } finally {
+            //La grabación ya terminó: se puede iniciar otra aunque esta se siga descargando
+            recording.set(false);
+        }
+    }
+
+    //También lo usa el controller cuando la respuesta ya no puede entregar el archivo
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar {}", file);
+        }
+    }
+}
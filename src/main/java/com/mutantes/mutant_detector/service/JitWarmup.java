@@ -0,0 +1,255 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
+import com.mutantes.mutant_detector.dto.DnaRequest;
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.entity.DnaSample;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+//Calentamiento del JIT al arrancar: ejecuta la detección en todos los tamaños (secuencial,
+//paralela, binaria, bit-sliced y streaming), Jackson, la validación y el acceso a BD hasta que el
+//compilador se estabiliza o vence el presupuesto. Sobre la base real solo se hacen lookups de hashes
+//inexistentes; los inserts van a una base de descarte (mutant.warmup.scratch-url) que se borra al
+//terminar, así el warm-up nunca toca dna_records ni consume ids aunque se corte a mitad. La base de
+//descarte tiene su propio EntityManagerFactory con las mismas entidades y repositorios, así que el
+//guardado recorre el mismo camino de Hibernate que MutantService (persist, flush, insert identity).
+//Corre como ApplicationRunner: Spring Boot recién marca el readiness como ACCEPTING_TRAFFIC al
+//terminar los runners, así que /actuator/health/readiness responde OUT_OF_SERVICE mientras tanto.
+@Slf4j
+@Component
+public class JitWarmup implements ApplicationRunner {
+
+    private static final int[] TAMANIOS = {6, 10, 16, 40, 100};
+    //Rondas seguidas sin compilaciones significativas para considerar estable al JIT
+    private static final int RONDAS_ESTABLES = 3;
+    private static final String BASES = "ATCG";
+
+    private final MutantDetector mutantDetector;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaShards dnaShards;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String scratchUrl;
+    private final boolean enabled;
+    private final long budgetMillis;
+    private final long settledCompileMillis;
+
+    public JitWarmup(MutantDetector mutantDetector,
+                     DnaRecordRepository dnaRecordRepository,
+                     DnaShards dnaShards,
+                     ObjectMapper objectMapper,
+                     Validator validator,
+                     ApplicationEventPublisher eventPublisher,
+                     @Value("${mutant.warmup.scratch-url:jdbc:h2:mem:warmup}") String scratchUrl,
+                     @Value("${mutant.warmup.enabled:false}") boolean enabled,
+                     @Value("${mutant.warmup.time-budget-ms:15000}") long budgetMillis,
+                     @Value("${mutant.warmup.settled-compile-ms:5}") long settledCompileMillis) {
+        this.mutantDetector = mutantDetector;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.dnaShards = dnaShards;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.scratchUrl = scratchUrl;
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+        this.settledCompileMillis = settledCompileMillis;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        int rounds = warmUp();
+        log.info("Warm-up del JIT terminado en {} ms ({} rondas)", (System.nanoTime() - start) / 1_000_000, rounds);
+    }
+
+    //Devuelve la cantidad de rondas ejecutadas
+    int warmUp() {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean canMeasure = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        Random random = new Random(42);
+        int rounds = 0;
+        int stable = 0;
+        long lastCompileMillis = canMeasure ? compiler.getTotalCompilationTime() : 0;
+
+        //Una sola conexión: la base en memoria vive mientras dura el warm-up y desaparece al cerrarla
+        SingleConnectionDataSource scratchDataSource = new SingleConnectionDataSource(scratchUrl, "sa", "", true);
+        LocalContainerEntityManagerFactoryBean scratchFactory = null;
+        try {
+            scratchFactory = scratchEntityManagerFactory(scratchDataSource);
+            ScratchPersistence scratch = new ScratchPersistence(scratchFactory.getObject());
+            while (System.nanoTime() < deadline && stable < RONDAS_ESTABLES) {
+                round(random, scratch);
+                rounds++;
+                if (canMeasure) {
+                    long compileMillis = compiler.getTotalCompilationTime();
+                    stable = compileMillis - lastCompileMillis <= settledCompileMillis ? stable + 1 : 0;
+                    lastCompileMillis = compileMillis;
+                } else {
+                    stable++;
+                }
+            }
+        } catch (RuntimeException e) {
+            //El warm-up nunca debe impedir el arranque
+            log.warn("Warm-up interrumpido: {}", e.getMessage());
+        } finally {
+            if (scratchFactory != null) {
+                scratchFactory.destroy();
+            }
+            scratchDataSource.destroy();
+        }
+        return rounds;
+    }
+
+    //Solo DnaRecord y DnaSample, sin caché L2, con los naming strategies que usa Spring Boot
+    private static LocalContainerEntityManagerFactoryBean scratchEntityManagerFactory(SingleConnectionDataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPersistenceUnitName("warmup");
+        factory.setDataSource(dataSource);
+        factory.setManagedTypes(PersistenceManagedTypes.of(DnaRecord.class.getName(), DnaSample.class.getName()));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private void round(Random random, ScratchPersistence scratch) {
+        for (int n : TAMANIOS) {
+            int repetitions = Math.max(1, 2000 / (n * n) * 10);
+            for (int i = 0; i < repetitions; i++) {
+                String[] dna = randomDna(random, n);
+                mutantDetector.isMutant(dna);
+                mutantDetector.isMutantMatrix(toMatrix(dna));
+            }
+        }
+        exerciseKernels(random);
+        exerciseJson(random);
+        exercisePersistence(random, scratch);
+    }
+
+    private void exerciseKernels(Random random) {
+        List<byte[][]> batch = new ArrayList<>(BitSlicedDetector.LANES);
+        for (int lane = 0; lane < BitSlicedDetector.LANES; lane++) {
+            batch.add(toMatrix(randomDna(random, 8)));
+        }
+        BitSlicedDetector.detect(batch);
+
+        StreamingMutantDetector streaming = new StreamingMutantDetector();
+        for (String row : randomDna(random, 40)) {
+            streaming.accept(row);
+        }
+    }
+
+    private void exerciseJson(Random random) {
+        try {
+            for (int i = 0; i < 50; i++) {
+                byte[] body = objectMapper.writeValueAsBytes(new DnaRequest(randomDna(random, 6)));
+                DnaRequest request = objectMapper.readValue(body, DnaRequest.class);
+                validator.validate(request);
+                objectMapper.writeValueAsBytes(new StatsResponse(i, i + 1, (double) i / (i + 1)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Lookups por JPA de hashes que no existen (no modifican la base real) y lookups + guardado de
+    //veredicto y muestra en la base de descarte, en una transacción como MutantService.recordVerdict
+    private void exercisePersistence(Random random, ScratchPersistence scratch) {
+        dnaShards.onShard(0, () -> {
+            for (int i = 0; i < 20; i++) {
+                dnaRecordRepository.findIsMutantByDnaHash("warmup-" + Long.toHexString(random.nextLong()));
+            }
+            return null;
+        });
+        for (int i = 0; i < 20; i++) {
+            String hash = "warmup-" + Long.toHexString(random.nextLong());
+            scratch.records.findIsMutantByDnaHash(hash);
+            DnaRecord record = DnaRecord.builder().dnaHash(hash).isMutant(i % 2 == 0).build();
+            byte[][] matrix = toMatrix(randomDna(random, 6));
+            scratch.transactionTemplate.execute(status -> {
+                DnaRecord saved = scratch.records.save(record);
+                scratch.samples.save(new DnaSample(saved.getId(), PackedDnaCodec.encode(matrix)));
+                return saved;
+            });
+        }
+    }
+
+    //Repositorios y transacciones sobre la base de descarte
+    private static final class ScratchPersistence {
+        private final DnaRecordRepository records;
+        private final DnaSampleRepository samples;
+        private final TransactionTemplate transactionTemplate;
+
+        ScratchPersistence(EntityManagerFactory entityManagerFactory) {
+            JpaRepositoryFactory repositories =
+                    new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+            this.records = repositories.getRepository(DnaRecordRepository.class);
+            this.samples = repositories.getRepository(DnaSampleRepository.class);
+            this.transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        }
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = BASES.charAt(random.nextInt(BASES.length()));
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+
+    private static byte[][] toMatrix(String[] dna) {
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,311 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.dto.MotifSearchResponse;
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.validation.DnaBases;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+//Búsqueda de motivos arbitrarios (no solo rachas de 4 bases iguales) en las mismas matrices
+//que analiza MutantDetector. Cada línea (fila, columna o diagonal) se recorre una sola vez
+//con un autómata de Aho-Corasick que reconoce todos los motivos a la vez.
+@Service
+public class MotifSearchService {
+
+    public enum Direction { HORIZONTAL, VERTICAL, DIAGONAL_DOWN, DIAGONAL_UP }
+
+    private final ForkJoinPool detectionPool;
+    private final int maxMotifs;
+    private final int maxMotifLength;
+    private final int maxPositions;
+    private final int parallelThreshold;
+
+    public MotifSearchService(ForkJoinPool detectionPool,
+                              @Value("${mutant.motif.max-motifs:64}") int maxMotifs,
+                              @Value("${mutant.motif.max-length:256}") int maxMotifLength,
+                              @Value("${mutant.motif.max-positions:100}") int maxPositions,
+                              @Value("${mutant.motif.parallel-threshold:256}") int parallelThreshold) {
+        this.detectionPool = detectionPool;
+        this.maxMotifs = maxMotifs;
+        this.maxMotifLength = maxMotifLength;
+        this.maxPositions = maxPositions;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public MotifSearchResponse search(String[] dna, List<String> motifs, int stopAfter) {
+        return search(toMatrix(dna), motifs, stopAfter);
+    }
+
+    //stopAfter > 0 corta la búsqueda al llegar a esa cantidad de coincidencias, igual que
+    //MutantDetector corta en la segunda secuencia: con AAAA, CCCC, GGGG, TTTT y stopAfter = 2,
+    //thresholdReached coincide con el veredicto mutante
+    public MotifSearchResponse search(byte[][] matrix, List<String> motifs, int stopAfter) {
+        if (motifs != null && motifs.size() > maxMotifs) {
+            throw new InvalidDnaException("Se permiten como máximo " + maxMotifs + " motivos");
+        }
+        if (motifs != null && motifs.stream().anyMatch(motif -> motif != null && motif.length() > maxMotifLength)) {
+            throw new InvalidDnaException("Los motivos no pueden superar " + maxMotifLength + " bases");
+        }
+        MotifAutomaton automaton = new MotifAutomaton(motifs);
+        Search search = new Search(matrix, automaton, stopAfter,
+                CancellationToken.withDeadline(DetectionDeadline.current()));
+        int blocks = blockCount(matrix.length);
+
+        Scan scan;
+        if (matrix.length < parallelThreshold) {
+            scan = search.newScan();
+            for (int block = 0; block < blocks; block++) {
+                scan.accept(block);
+            }
+        } else {
+            //Los bloques se combinan en orden, así las posiciones quedan en el mismo
+            //orden (y con el mismo recorte) que en el recorrido secuencial
+            scan = detectionPool.submit(() -> IntStream.range(0, blocks).parallel()
+                    .collect(search::newScan, Scan::accept, Scan::merge)).join();
+        }
+        if (search.token.isCancelled()) {
+            throw new DetectionTimeoutException("La detección superó el tiempo límite del request");
+        }
+        return scan.toResponse();
+    }
+
+    private static byte[][] toMatrix(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new InvalidDnaException("El array de ADN no puede estar vacío");
+        }
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            if (dna[i] == null || dna[i].length() != dna.length) {
+                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada (NxN)");
+            }
+            if (!DnaBases.isValidRow(dna[i])) {
+                throw new InvalidDnaException("El ADN contiene caracteres inválidos (Solo se permite A, T, C, G)");
+            }
+            matrix[i] = dna[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+
+    //Líneas numeradas por familia: filas [0, n), columnas [n, 2n),
+    //diagonales ↘ [2n, 4n - 1) y diagonales ↗ [4n - 1, 6n - 2).
+    //Cada familia se parte en bloques de BLOCK_LINES líneas contiguas
+    private static final int BLOCK_LINES = 64;
+
+    private static int familySize(int family, int n) {
+        return family < 2 ? n : 2 * n - 1;
+    }
+
+    private static int familyStart(int family, int n) {
+        return family == 0 ? 0 : family == 1 ? n : family == 2 ? 2 * n : 4 * n - 1;
+    }
+
+    static int blockCount(int n) {
+        int blocks = 0;
+        for (int family = 0; family < 4; family++) {
+            blocks += (familySize(family, n) + BLOCK_LINES - 1) / BLOCK_LINES;
+        }
+        return blocks;
+    }
+
+    //Celda inicial, paso y largo de la línea global g
+    private record Line(Direction direction, int row, int col, int dRow, int dCol, int length) {
+
+        static Line of(int g, int n) {
+            if (g < n) {
+                return new Line(Direction.HORIZONTAL, g, 0, 0, 1, n);
+            }
+            if (g < 2 * n) {
+                return new Line(Direction.VERTICAL, 0, g - n, 1, 0, n);
+            }
+            if (g < 4 * n - 1) {
+                int d = g - 2 * n - (n - 1); //col - row constante
+                return new Line(Direction.DIAGONAL_DOWN, Math.max(0, -d), Math.max(0, d), 1, 1, n - Math.abs(d));
+            }
+            int s = g - (4 * n - 1); //row + col constante; se lee de abajo hacia arriba
+            int row = Math.min(s, n - 1);
+            return new Line(Direction.DIAGONAL_UP, row, s - row, -1, 1, n - Math.abs(s - (n - 1)));
+        }
+    }
+
+    //Estado compartido por todas las porciones de una búsqueda
+    private final class Search {
+        private final byte[][] matrix;
+        private final MotifAutomaton automaton;
+        private final int stopAfter;
+        private final CancellationToken token;
+        private final AtomicLong found = new AtomicLong();
+        private volatile boolean stopped;
+
+        Search(byte[][] matrix, MotifAutomaton automaton, int stopAfter, CancellationToken token) {
+            this.matrix = matrix;
+            this.automaton = automaton;
+            this.stopAfter = stopAfter;
+            this.token = token;
+        }
+
+        Scan newScan() {
+            return new Scan(this);
+        }
+    }
+
+    //Conteos y posiciones de una porción contigua de líneas
+    private final class Scan {
+        private final Search search;
+        private final long[] counts;
+        //Posiciones de inicio codificadas como línea * n + desplazamiento, en orden de recorrido
+        private final long[][] positions;
+        private final int[] sizes;
+
+        Scan(Search search) {
+            this.search = search;
+            int motifs = search.automaton.motifCount();
+            this.counts = new long[motifs];
+            this.positions = new long[motifs][];
+            this.sizes = new int[motifs];
+        }
+
+        //Recorre un bloque de líneas contiguas de una familia
+        void accept(int block) {
+            int n = search.matrix.length;
+            int family = 0;
+            int familyBlocks;
+            while (block >= (familyBlocks = (familySize(family, n) + BLOCK_LINES - 1) / BLOCK_LINES)) {
+                block -= familyBlocks;
+                family++;
+            }
+            int first = block * BLOCK_LINES;
+            int last = Math.min(first + BLOCK_LINES, familySize(family, n));
+            if (family == 0) {
+                scanRows(first, last);
+            } else {
+                scanCrossing(family, first, last);
+            }
+        }
+
+        //Filas: cada una se lee de corrido
+        private void scanRows(int first, int last) {
+            byte[][] matrix = search.matrix;
+            MotifAutomaton automaton = search.automaton;
+            int n = matrix.length;
+            for (int row = first; row < last; row++) {
+                if (search.stopped || search.token.shouldStop()) {
+                    return;
+                }
+                byte[] cells = matrix[row];
+                int state = 0;
+                for (int col = 0; col < n; col++) {
+                    state = automaton.next(state, cells[col]);
+                    int[] found = automaton.matches(state);
+                    if (found.length > 0 && !found(found, row, col)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        //Columnas y diagonales: se barre la matriz fila por fila (acceso secuencial en memoria)
+        //con un estado del autómata por cada línea del bloque. Las diagonales ↗ se barren de
+        //abajo hacia arriba para respetar su sentido de lectura
+        private void scanCrossing(int family, int first, int last) {
+            byte[][] matrix = search.matrix;
+            MotifAutomaton automaton = search.automaton;
+            int n = matrix.length;
+            int lineBase = familyStart(family, n);
+            int[] states = new int[last - first];
+            for (int step = 0; step < n; step++) {
+                if ((step & 63) == 0 && (search.stopped || search.token.shouldStop())) {
+                    return;
+                }
+                int row = family == 3 ? n - 1 - step : step;
+                //col = línea + shift; solo se visitan las líneas que cruzan esta fila
+                int shift = family == 1 ? 0 : family == 2 ? row - (n - 1) : -row;
+                int from = Math.max(first, -shift);
+                int to = Math.min(last, n - shift);
+                byte[] cells = matrix[row];
+                for (int line = from; line < to; line++) {
+                    int state = automaton.next(states[line - first], cells[line + shift]);
+                    states[line - first] = state;
+                    int[] found = automaton.matches(state);
+                    if (found.length > 0 && !found(found, lineBase + line, offset(family, line, row, n))) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        //Posición de la celda (row) dentro de su línea
+        private int offset(int family, int line, int row, int n) {
+            if (family == 1) {
+                return row;
+            }
+            if (family == 2) {
+                return row - Math.max(0, n - 1 - line);
+            }
+            return Math.min(line, n - 1) - row;
+        }
+
+        //Registra los motivos que terminan en la celda; false si se alcanzó stopAfter
+        private boolean found(int[] motifs, int g, int offset) {
+            int n = search.matrix.length;
+            for (int motif : motifs) {
+                counts[motif]++;
+                record(motif, (long) g * n + offset - search.automaton.motifLength(motif) + 1);
+                if (search.stopAfter > 0 && search.found.incrementAndGet() >= search.stopAfter) {
+                    search.stopped = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void record(int motif, long position) {
+            if (sizes[motif] >= maxPositions) {
+                return;
+            }
+            if (positions[motif] == null) {
+                positions[motif] = new long[Math.min(maxPositions, 16)];
+            } else if (sizes[motif] == positions[motif].length) {
+                positions[motif] = Arrays.copyOf(positions[motif], Math.min(maxPositions, sizes[motif] * 2));
+            }
+            positions[motif][sizes[motif]++] = position;
+        }
+
+        //right cubre líneas posteriores a las de this
+        void merge(Scan right) {
+            for (int motif = 0; motif < counts.length; motif++) {
+                counts[motif] += right.counts[motif];
+                for (int i = 0; i < right.sizes[motif] && sizes[motif] < maxPositions; i++) {
+                    record(motif, right.positions[motif][i]);
+                }
+            }
+        }
+
+        MotifSearchResponse toResponse() {
+            int n = search.matrix.length;
+            long total = 0;
+            List<MotifSearchResponse.MotifMatches> matches = new ArrayList<>(counts.length);
+            for (int motif = 0; motif < counts.length; motif++) {
+                total += counts[motif];
+                List<MotifSearchResponse.MotifPosition> found = new ArrayList<>(sizes[motif]);
+                for (int i = 0; i < sizes[motif]; i++) {
+                    long position = positions[motif][i];
+                    Line line = Line.of((int) (position / n), n);
+                    int offset = (int) (position % n);
+                    found.add(new MotifSearchResponse.MotifPosition(line.row() + offset * line.dRow(),
+                            line.col() + offset * line.dCol(), line.direction().name()));
+                }
+                matches.add(new MotifSearchResponse.MotifMatches(search.automaton.motif(motif), counts[motif], found));
+            }
+            return new MotifSearchResponse(total, search.stopped, matches);
+        }
+    }
+}
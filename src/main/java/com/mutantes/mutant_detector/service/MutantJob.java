@@ -0,0 +1,55 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.dto.JobResponse;
+import lombok.Getter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+//Verificación asíncrona de un ADN: se encola, se ejecuta en el pool de jobs y se consulta por id
+@Getter
+public class MutantJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String dnaHash;
+    //Se completa (siempre normalmente) cuando el job termina, con éxito o con error
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Boolean mutant;
+    private volatile String error;
+    private volatile long finishedAt;
+
+    public MutantJob(String dnaHash) {
+        this.dnaHash = dnaHash;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void complete(boolean isMutant) {
+        mutant = isMutant;
+        finish(Status.DONE);
+    }
+
+    void fail(String message) {
+        error = message;
+        finish(Status.FAILED);
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    public JobResponse toResponse() {
+        return new JobResponse(id, status.name(), mutant, error);
+    }
+
+    private void finish(Status finalStatus) {
+        finishedAt = System.currentTimeMillis();
+        status = finalStatus;
+        completion.complete(null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.JobNotFoundException;
+import com.mutantes.mutant_detector.exception.PayloadTooLargeException;
+import com.mutantes.mutant_detector.exception.TooManyJobsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Verificaciones asíncronas para matrices grandes: cola acotada (en cantidad y en celdas retenidas),
+//deduplicación por hash y TTL
+@Service
+public class MutantJobService {
+
+    private final MutantService mutantService;
+    private final ThreadPoolExecutor executor;
+    private final long ttlMillis;
+    private final int maxQueuedCells;
+    //Celdas de ADN retenidas por jobs encolados o en ejecución: cada job guarda su String[] hasta terminar
+    private final Semaphore cellBudget;
+    private final Map<String, MutantJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<String, MutantJob> jobsByHash = new ConcurrentHashMap<>();
+
+    public MutantJobService(MutantService mutantService,
+                            @Value("${mutant.jobs.workers:2}") int workers,
+                            @Value("${mutant.jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${mutant.jobs.ttl-ms:600000}") long ttlMillis,
+                            @Value("${mutant.jobs.max-queued-cells:1000000000}") int maxQueuedCells) {
+        this.mutantService = mutantService;
+        this.ttlMillis = ttlMillis;
+        this.maxQueuedCells = maxQueuedCells;
+        this.cellBudget = new Semaphore(maxQueuedCells);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mutant-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public MutantJob submit(String[] dna) {
+        long cells = cellsOf(dna);
+        if (cells > maxQueuedCells) {
+            throw new PayloadTooLargeException("La matriz supera el máximo de celdas para verificación asíncrona ("
+                    + maxQueuedCells + ")");
+        }
+        String hash = mutantService.calculateHash(dna);
+
+        //Deduplicación: la misma matriz nunca se encola dos veces. El job se registra por id antes
+        //de publicarlo por hash: un duplicado que lo recibe ya puede consultarlo con GET
+        MutantJob job = new MutantJob(hash);
+        jobsById.put(job.getId(), job);
+        MutantJob existing = jobsByHash.putIfAbsent(hash, job);
+        if (existing != null) {
+            jobsById.remove(job.getId());
+            return existing;
+        }
+
+        //Si el veredicto ya está guardado el job nace terminado
+        Optional<Boolean> known = mutantService.findVerdict(hash);
+        if (known.isPresent()) {
+            job.complete(known.get());
+            return job;
+        }
+
+        //El presupuesto de celdas se reserva antes de encolar y se libera cuando el job termina
+        int permits = (int) cells;
+        if (!cellBudget.tryAcquire(permits)) {
+            throw reject(job, "La memoria reservada para verificaciones está agotada, reintente más tarde");
+        }
+        try {
+            executor.execute(() -> run(job, dna, permits));
+        } catch (RejectedExecutionException e) {
+            cellBudget.release(permits);
+            throw reject(job, "La cola de verificaciones está llena, reintente más tarde");
+        }
+        return job;
+    }
+
+    //Los duplicados que ya recibieron este job lo ven fallido (y se descarta por TTL)
+    //en lugar de esperar un resultado que nunca llega
+    private TooManyJobsException reject(MutantJob job, String message) {
+        job.fail(message);
+        jobsByHash.remove(job.getDnaHash(), job);
+        return new TooManyJobsException(message);
+    }
+
+    public MutantJob get(String id) {
+        MutantJob job = jobsById.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("No existe el job " + id);
+        }
+        return job;
+    }
+
+    //Quita los jobs terminados cuyo TTL venció
+    @Scheduled(fixedDelayString = "${mutant.jobs.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long limit = System.currentTimeMillis() - ttlMillis;
+        jobsById.values().removeIf(job -> {
+            boolean expired = job.isFinished() && job.getFinishedAt() < limit;
+            if (expired) {
+                jobsByHash.remove(job.getDnaHash(), job);
+            }
+            return expired;
+        });
+    }
+
+    public int queuedCells() {
+        return maxQueuedCells - cellBudget.availablePermits();
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(MutantJob job, String[] dna, int permits) {
+        job.start();
+        try {
+            job.complete(mutantService.verifyAndSave(dna));
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            //Un job fallido no bloquea reintentos del mismo ADN
+            jobsByHash.remove(job.getDnaHash(), job);
+        } finally {
+            cellBudget.release(permits);
+        }
+    }
+
+    private static long cellsOf(String[] dna) {
+        long cells = 0;
+        for (String row : dna) {
+            cells += row == null ? 0 : row.length();
+        }
+        return Math.max(cells, 1);
+    }
+}
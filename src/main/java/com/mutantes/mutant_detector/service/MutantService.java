@@ -1,60 +1,240 @@
 package com.mutantes.mutant_detector.service;
 
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
 import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.entity.DnaSample;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
 import com.mutantes.mutant_detector.exception.DnaHashCalculationException;
+import com.mutantes.mutant_detector.jfr.DnaHashEvent;
+import com.mutantes.mutant_detector.jfr.VerdictLookupEvent;
+import com.mutantes.mutant_detector.jfr.VerdictSaveEvent;
 import com.mutantes.mutant_detector.repository.DnaRecordRepository;
-import lombok.RequiredArgsConstructor;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class MutantService {
     private final MutantDetector mutantDetector;
     private final DnaRecordRepository dnaRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PeerVerdictService peerVerdictService;
+    private final DnaShards dnaShards;
+    private final DnaSampleRepository dnaSampleRepository;
+    private final TransactionTemplate transactionTemplate;
+    //Hash sobre la forma canónica (rotaciones/reflexiones y permutación de letras):
+    //matrices equivalentes comparten veredicto en caché y BD
+    private final boolean canonicalHashing;
+    //Guarda además el ADN empaquetado a 2 bits (dna_samples) para poder re-verificarlo
+    private final boolean storePackedDna;
+
+    public MutantService(MutantDetector mutantDetector,
+                         DnaRecordRepository dnaRecordRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         PeerVerdictService peerVerdictService,
+                         DnaShards dnaShards,
+                         DnaSampleRepository dnaSampleRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${mutant.hash.canonical:false}") boolean canonicalHashing,
+                         @Value("${mutant.storage.packed-dna:false}") boolean storePackedDna) {
+        this.mutantDetector = mutantDetector;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.eventPublisher = eventPublisher;
+        this.peerVerdictService = peerVerdictService;
+        this.dnaShards = dnaShards;
+        this.dnaSampleRepository = dnaSampleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.canonicalHashing = canonicalHashing;
+        this.storePackedDna = storePackedDna;
+    }
 
     public boolean verifyAndSave(String[] dna) {
         //Calcular Hash para deduplicación
+        DnaHashEvent hashEvent = new DnaHashEvent();
+        hashEvent.begin();
+        String hash = calculateHash(dna);
+        commitHash(hashEvent, dna == null ? 0 : dna.length);
+        return findOrDetect(hash, () -> mutantDetector.isMutant(dna), () -> toMatrix(dna));
+    }
+
+    //Mismo flujo para ADN recibido en formato binario (una base ASCII por byte)
+    public boolean verifyAndSaveMatrix(byte[][] dna) {
+        DnaHashEvent hashEvent = new DnaHashEvent();
+        hashEvent.begin();
         String hash = calculateHash(dna);
+        commitHash(hashEvent, dna.length);
+        return findOrDetect(hash, () -> mutantDetector.isMutantMatrix(dna), () -> dna);
+    }
 
+    boolean findOrDetect(String hash, BooleanSupplier detection) {
+        return findOrDetect(hash, detection, null);
+    }
+
+    //matrix: ADN original para guardar la muestra empaquetada (null si no está disponible)
+    private boolean findOrDetect(String hash, BooleanSupplier detection, Supplier<byte[][]> matrix) {
         //Verificar si ya existe en BD (Caché)
-        Optional<DnaRecord> existing = dnaRecordRepository.findByDnaHash(hash);
+        VerdictLookupEvent lookupEvent = new VerdictLookupEvent();
+        lookupEvent.begin();
+        Optional<Boolean> existing = findVerdict(hash);
+        commitLookup(lookupEvent, "local", hash, existing);
         if (existing.isPresent()) {
-            return existing.get().isMutant();
+            return existing.get();
+        }
+
+        //Modo peer: si el hash es de otro nodo se consulta al dueño antes de analizar
+        if (peerVerdictService.isRemote(hash)) {
+            VerdictLookupEvent remoteEvent = new VerdictLookupEvent();
+            remoteEvent.begin();
+            Optional<Boolean> remote = peerVerdictService.lookup(hash);
+            commitLookup(remoteEvent, "peer", hash, remote);
+            if (remote.isPresent()) {
+                return remote.get();
+            }
+            boolean isMutant = detection.getAsBoolean();
+            VerdictSaveEvent saveEvent = new VerdictSaveEvent();
+            saveEvent.begin();
+            boolean published = peerVerdictService.publish(hash, isMutant);
+            commitSave(saveEvent, "peer", hash, isMutant);
+            if (!published) {
+                //Dueño no disponible: se guarda localmente para no perder el resultado
+                recordVerdict(hash, isMutant, matrix);
+            }
+            return isMutant;
         }
 
         //Si no existe, analizar
-        boolean isMutant = mutantDetector.isMutant(dna);
+        boolean isMutant = detection.getAsBoolean();
 
         //Guardar resultado
+        recordVerdict(hash, isMutant, matrix);
+
+        return isMutant;
+    }
+
+    public Optional<Boolean> findVerdict(String hash) {
+        return dnaShards.onShardOf(hash, () -> dnaRecordRepository.findIsMutantByDnaHash(hash));
+    }
+
+    //Sin muestra en dna_samples: lo usan los veredictos que entrega otro nodo (modo peer), que
+    //quedan fuera de la re-verificación
+    public void recordVerdict(String hash, boolean isMutant) {
+        recordVerdict(hash, isMutant, null);
+    }
+
+    private void recordVerdict(String hash, boolean isMutant, Supplier<byte[][]> matrix) {
         DnaRecord record = DnaRecord.builder()
                 .dnaHash(hash)
                 .isMutant(isMutant)
                 .build();
-        dnaRecordRepository.save(record);
+        VerdictSaveEvent saveEvent = new VerdictSaveEvent();
+        saveEvent.begin();
+        //Veredicto y muestra en una sola transacción del shard: no queda un registro sin su muestra
+        dnaShards.onShardOf(hash, () -> transactionTemplate.execute(status -> {
+            DnaRecord saved = dnaRecordRepository.save(record);
+            if (storePackedDna && matrix != null) {
+                dnaSampleRepository.save(new DnaSample(saved.getId(), PackedDnaCodec.encode(matrix.get())));
+            }
+            return saved;
+        }));
+        commitSave(saveEvent, "local", hash, isMutant);
+        //Avisar que cambiaron las estadísticas (invalida la caché de /stats)
+        eventPublisher.publishEvent(new DnaRecordsChangedEvent(1));
+    }
 
-        return isMutant;
+    //Eventos JFR por fase: los campos solo se completan si la grabación está activa
+    private void commitHash(DnaHashEvent event, int n) {
+        if (event.shouldCommit()) {
+            event.n = n;
+            event.canonical = canonicalHashing;
+            event.commit();
+        }
     }
 
-    private String calculateHash(String[] dna) {
-        try {
-            String raw = String.join("", dna);
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : encodedhash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
+    private void commitLookup(VerdictLookupEvent event, String source, String hash, Optional<Boolean> result) {
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.cacheHit = result.isPresent();
+            event.shard = dnaShards.shardOf(hash);
+            event.commit();
+        }
+    }
+
+    private void commitSave(VerdictSaveEvent event, String target, String hash, boolean isMutant) {
+        if (event.shouldCommit()) {
+            event.target = target;
+            event.shard = dnaShards.shardOf(hash);
+            event.mutant = isMutant;
+            event.commit();
+        }
+    }
+
+    public String calculateHash(String[] dna) {
+        if (canonicalHashing && dna != null) {
+            //Se hashea leyendo los Strings en la orientación elegida, sin copiar la matriz
+            MessageDigest digest = newDigest();
+            if (CanonicalDna.digest(dna, digest)) {
+                return toHex(digest.digest());
+            }
+            //ADN inválido: se usa el hash crudo y la validación del detector responde el error
+        }
+        String raw = String.join("", dna);
+        MessageDigest digest = newDigest();
+        return toHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    //Produce el mismo hash que la versión String[] (filas concatenadas)
+    private String calculateHash(byte[][] dna) {
+        if (canonicalHashing) {
+            MessageDigest digest = newDigest();
+            if (CanonicalDna.digest(dna, digest)) {
+                return toHex(digest.digest());
             }
-            return hexString.toString();
+        }
+        return hashRows(dna);
+    }
+
+    private String hashRows(byte[][] dna) {
+        MessageDigest digest = newDigest();
+        for (byte[] row : dna) {
+            digest.update(row);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static byte[][] toMatrix(String[] dna) {
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i] == null ? null : dna[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return matrix;
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             //Excepción personalizada
             throw new DnaHashCalculationException("Error calculando el hash del ADN", e);
         }
     }
+
+    static String toHex(byte[] encodedhash) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : encodedhash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) hexString.append('0');
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
 }
@@ -0,0 +1,75 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.InternalProperties;
+import com.mutantes.mutant_detector.config.PeerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+//Cliente HTTP liviano para los endpoints internos /internal/verdicts de otros nodos
+@Slf4j
+@Component
+public class PeerVerdictClient {
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final String internalToken;
+
+    public PeerVerdictClient(PeerProperties properties, InternalProperties internalProperties) {
+        this.internalToken = internalProperties.getToken();
+        this.timeout = Duration.ofMillis(properties.getTimeoutMs());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    //Consulta el veredicto al nodo dueño; vacío si no lo conoce o no responde
+    public Optional<Boolean> fetch(String node, String hash) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + "/internal/verdicts/" + hash))
+                .timeout(timeout)
+                .header(InternalProperties.TOKEN_HEADER, internalToken)
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                return Optional.of(Boolean.parseBoolean(response.body().trim()));
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("No se pudo consultar el veredicto en {}: {}", node, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    //Entrega un veredicto calculado localmente al nodo dueño; true si lo aceptó
+    public boolean store(String node, String hash, boolean isMutant) {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(node + "/internal/verdicts/" + hash + "?mutant=" + isMutant))
+                .timeout(timeout)
+                .header(InternalProperties.TOKEN_HEADER, internalToken)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el veredicto en {}: {}", node, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.InternalProperties;
+import com.mutantes.mutant_detector.config.PeerProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+//Modo peer: cada nodo es dueño de un rango de hashes del anillo.
+//Los hashes ajenos se consultan/guardan en el nodo dueño y se cachean en memoria.
+@Service
+public class PeerVerdictService {
+
+    private final PeerVerdictClient client;
+    private final String self;
+    private final ConsistentHashRing ring;
+    private final VerdictCache remoteVerdicts;
+
+    public PeerVerdictService(PeerProperties properties, InternalProperties internalProperties,
+                              PeerVerdictClient client) {
+        this.client = client;
+        this.self = normalize(properties.getSelf());
+        this.remoteVerdicts = new VerdictCache(properties.getCacheSize());
+
+        if (properties.isEnabled()) {
+            if (!internalProperties.hasToken()) {
+                throw new IllegalStateException("El modo peer requiere mutant.internal.token (el mismo en todos los nodos)");
+            }
+            List<String> nodes = properties.getNodes().stream()
+                    .map(PeerVerdictService::normalize)
+                    .distinct()
+                    .toList();
+            if (!nodes.contains(self)) {
+                throw new IllegalStateException("mutant.peers.self (" + self + ") debe figurar en mutant.peers.nodes");
+            }
+            this.ring = new ConsistentHashRing(nodes, properties.getVirtualNodes());
+        } else {
+            this.ring = null;
+        }
+    }
+
+    //true si el hash pertenece a otro nodo del cluster
+    public boolean isRemote(String hash) {
+        return ring != null && !ring.ownerOf(hash).equals(self);
+    }
+
+    public Optional<Boolean> lookup(String hash) {
+        Boolean cached = remoteVerdicts.get(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Boolean> remote = client.fetch(ring.ownerOf(hash), hash);
+        remote.ifPresent(verdict -> remoteVerdicts.put(hash, verdict));
+        return remote;
+    }
+
+    //Envía al dueño un veredicto calculado acá; false si el dueño no está disponible
+    public boolean publish(String hash, boolean isMutant) {
+        remoteVerdicts.put(hash, isMutant);
+        return client.store(ring.ownerOf(hash), hash, isMutant);
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
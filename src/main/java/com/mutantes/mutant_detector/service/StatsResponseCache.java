@@ -0,0 +1,132 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
+import com.mutantes.mutant_detector.jfr.StatsRequestEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Mantiene /stats ya serializado en bytes, junto con un ETag derivado del contenido.
+//Se recalcula solo cuando cambian los registros o vence el TTL configurado.
+@Service
+public class StatsResponseCache {
+
+    private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final AtomicLong changeVersion = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public StatsResponseCache(StatsService statsService,
+                              ObjectMapper objectMapper,
+                              @Value("${mutant.stats.cache-ttl-ms:1000}") long ttlMillis) {
+        this.statsService = statsService;
+        this.objectMapper = objectMapper;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public Snapshot current() {
+        StatsRequestEvent event = new StatsRequestEvent();
+        event.begin();
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return commit(event, current, true);
+        }
+        synchronized (this) {
+            //Solo un hilo recalcula, el resto reutiliza el resultado
+            current = snapshot;
+            if (isFresh(current)) {
+                return commit(event, current, true);
+            }
+            snapshot = refresh();
+            return commit(event, snapshot, false);
+        }
+    }
+
+    private static Snapshot commit(StatsRequestEvent event, Snapshot result, boolean cacheHit) {
+        if (event.shouldCommit()) {
+            event.cacheHit = cacheHit;
+            event.bodyBytes = result.body.length;
+            event.commit();
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onRecordsChanged(DnaRecordsChangedEvent event) {
+        changeVersion.incrementAndGet();
+    }
+
+    private boolean isFresh(Snapshot s) {
+        return s != null
+                && s.sourceVersion == changeVersion.get()
+                && System.nanoTime() - s.createdAt < ttlNanos;
+    }
+
+    private Snapshot refresh() {
+        //Se lee la versión antes de consultar: un cambio concurrente invalida el nuevo snapshot
+        long sourceVersion = changeVersion.get();
+        long createdAt = System.nanoTime();
+        StatsResponse stats = statsService.getStats();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(stats);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializando las estadísticas", e);
+        }
+
+        return new Snapshot(body, etagOf(body), sourceVersion, createdAt);
+    }
+
+    //Hash del cuerpo: el mismo contenido tiene el mismo ETag en todas las instancias y tras reinicios,
+    //así un 304 vale aunque el balanceador mande el siguiente request a otro nodo
+    private static String etagOf(byte[] body) {
+        return "\"" + MutantService.toHex(MutantService.newDigest().digest(body)).substring(0, 32) + "\"";
+    }
+
+    public static final class Snapshot {
+        private final byte[] body;
+        private final String etag;
+        private final long sourceVersion;
+        private final long createdAt;
+
+        private Snapshot(byte[] body, String etag, long sourceVersion, long createdAt) {
+            this.body = body;
+            this.etag = etag;
+            this.sourceVersion = sourceVersion;
+            this.createdAt = createdAt;
+        }
+
+        //Bytes listos para enviar: no deben modificarse
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        //Compara contra el header If-None-Match (admite listas, "*" y ETags débiles)
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
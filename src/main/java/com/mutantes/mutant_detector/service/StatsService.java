@@ -1,6 +1,9 @@
 package com.mutantes.mutant_detector.service;
 
 import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import com.mutantes.mutant_detector.jfr.StatsQueryEvent;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
 import com.mutantes.mutant_detector.repository.DnaRecordRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -10,10 +13,31 @@ import org.springframework.stereotype.Service;
 public class StatsService {
 
     private final DnaRecordRepository dnaRecordRepository;
+    private final DnaShards dnaShards;
+    private final ArchivedStatsRepository archivedStatsRepository;
 
     public StatsResponse getStats() {
-        long mutantCount = dnaRecordRepository.countByIsMutant(true);
-        long humanCount = dnaRecordRepository.countByIsMutant(false);
+        StatsQueryEvent event = new StatsQueryEvent();
+        event.begin();
+        //En modo sharded cada conteo se consulta en todos los shards en paralelo
+        long mutantRows = dnaShards.sumAcrossShards(shard -> dnaRecordRepository.countByIsMutant(true));
+        long humanRows = dnaShards.sumAcrossShards(shard -> dnaRecordRepository.countByIsMutant(false));
+
+        //Más lo ya purgado por la retención
+        long archivedMutants = dnaShards.sumAcrossShards(shard -> archivedStatsRepository.findById(ArchivedStats.SINGLETON_ID)
+                .map(ArchivedStats::getMutantCount).orElse(0L));
+        long archivedHumans = dnaShards.sumAcrossShards(shard -> archivedStatsRepository.findById(ArchivedStats.SINGLETON_ID)
+                .map(ArchivedStats::getHumanCount).orElse(0L));
+        if (event.shouldCommit()) {
+            event.mutantRows = mutantRows;
+            event.humanRows = humanRows;
+            event.archivedMutants = archivedMutants;
+            event.archivedHumans = archivedHumans;
+            event.shards = dnaShards.getShardCount();
+            event.commit();
+        }
+        long mutantCount = mutantRows + archivedMutants;
+        long humanCount = humanRows + archivedHumans;
 
         double ratio;
 
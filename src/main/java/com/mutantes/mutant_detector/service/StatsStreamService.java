@@ -0,0 +1,221 @@
+package com.mutantes.mutant_detector.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Difunde /stats por Server-Sent Events. Las conexiones son asíncronas (sin un hilo por suscriptor):
+//un tick en su propio scheduler consulta StatsResponseCache y, si cambió el ETag, encola el mismo
+//evento ya serializado para todos. Así los cambios se agrupan en como máximo un evento por intervalo.
+//Cada suscriptor tiene una cola acotada que se vacía en el pool de envío: un cliente lento no frena
+//el tick ni a los demás, y si su cola se llena se lo desconecta (EventSource reconecta solo).
+@Slf4j
+@Service
+public class StatsStreamService {
+
+    private final StatsResponseCache statsResponseCache;
+    private final long emitterTimeoutMs;
+    private final int queueSize;
+    private final Executor sender;
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    //Comentario SSE: mantiene viva la conexión en proxies y detecta clientes desconectados
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("ping").build();
+    private volatile Frame lastFrame;
+    //ETag del último evento difundido a todos los suscriptores
+    private volatile String broadcastEtag;
+
+    //Solo en la aplicación: los tests disparan los ticks a mano
+    private ScheduledExecutorService scheduler;
+    private long intervalMs;
+    private long heartbeatMs;
+
+    @Autowired
+    public StatsStreamService(StatsResponseCache statsResponseCache,
+                              @Value("${mutant.stats.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                              @Value("${mutant.stats.stream.interval-ms:1000}") long intervalMs,
+                              @Value("${mutant.stats.stream.heartbeat-ms:15000}") long heartbeatMs,
+                              @Value("${mutant.stats.stream.queue-size:16}") int queueSize,
+                              @Value("${mutant.stats.stream.send-threads:2}") int sendThreads) {
+        this(statsResponseCache, emitterTimeoutMs, queueSize,
+                Executors.newFixedThreadPool(Math.max(1, sendThreads), runnable -> daemon(runnable, "stats-stream-send")));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "stats-stream"));
+        this.intervalMs = intervalMs;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    StatsStreamService(StatsResponseCache statsResponseCache, long emitterTimeoutMs, int queueSize, Executor sender) {
+        this.statsResponseCache = statsResponseCache;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.queueSize = Math.max(1, queueSize);
+        this.sender = sender;
+    }
+
+    //Scheduler propio: un tick lento no demora al resto de las tareas @Scheduled de la aplicación
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> tick(this::broadcastChanges), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> tick(this::sendHeartbeat), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (sender instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    //Al vencer el timeout el navegador (EventSource) reconecta solo y recibe el estado actual
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(emitter);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        //El suscriptor nuevo recibe el estado actual sin esperar al próximo cambio
+        //(antes de devolver el emitter el envío solo se acumula, no bloquea el request)
+        Frame current = frameFor(statsResponseCache.current());
+        if (send(emitter, current.payload)) {
+            if (subscribers.isEmpty()) {
+                //Primer suscriptor: el próximo tick no le reenvía lo que ya tiene
+                broadcastEtag = current.etag;
+            }
+            subscribers.put(emitter, new Subscriber(emitter, new ArrayBlockingQueue<>(queueSize)));
+        }
+    }
+
+    public void broadcastChanges() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frame current = frameFor(statsResponseCache.current());
+        if (current.etag.equals(broadcastEtag)) {
+            return;
+        }
+        broadcastEtag = current.etag;
+        broadcast(current.payload);
+    }
+
+    public void sendHeartbeat() {
+        broadcast(heartbeat);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    //Solo encola: el tick nunca escribe en un socket
+    private void broadcast(Set<DataWithMediaType> payload) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.queue.offer(payload)) {
+                schedule(subscriber);
+            } else {
+                log.debug("Suscriptor de /stats/stream demasiado lento: se desconecta");
+                drop(subscriber);
+            }
+        }
+    }
+
+    //Un solo drenado en curso por suscriptor: los eventos llegan en orden
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Set<DataWithMediaType> payload;
+        while ((payload = subscriber.queue.poll()) != null) {
+            if (!send(subscriber.emitter, payload)) {
+                subscriber.queue.clear();
+                break;
+            }
+        }
+        subscriber.draining.set(false);
+        //Un evento encolado justo después del último poll no debe quedar esperando al próximo
+        if (!subscriber.queue.isEmpty() && subscribers.containsKey(subscriber.emitter)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber.emitter);
+        subscriber.queue.clear();
+        sender.execute(subscriber.emitter::complete);
+    }
+
+    //false si el cliente ya no está: se descarta y no se le vuelve a enviar
+    private boolean send(SseEmitter emitter, Set<DataWithMediaType> payload) {
+        try {
+            emitter.send(payload);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Suscriptor de /stats/stream desconectado: {}", e.getMessage());
+            subscribers.remove(emitter);
+            return false;
+        }
+    }
+
+    //Un error en un tick no cancela las ejecuciones siguientes del scheduler
+    private static void tick(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Error difundiendo /stats/stream: {}", e.getMessage());
+        }
+    }
+
+    //Un evento se serializa una sola vez por ETag y se reutiliza para todos los suscriptores
+    private Frame frameFor(StatsResponseCache.Snapshot snapshot) {
+        Frame frame = lastFrame;
+        if (frame != null && frame.etag.equals(snapshot.getEtag())) {
+            return frame;
+        }
+        frame = new Frame(snapshot.getEtag(), SseEmitter.event()
+                .id(snapshot.getEtag())
+                .name("stats")
+                .data(snapshot.getBody(), MediaType.APPLICATION_JSON)
+                .build());
+        lastFrame = frame;
+        return frame;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Frame(String etag, Set<DataWithMediaType> payload) {
+    }
+
+    //Cola acotada de eventos pendientes de un suscriptor
+    private record Subscriber(SseEmitter emitter, Queue<Set<DataWithMediaType>> queue, AtomicBoolean draining) {
+        private Subscriber(SseEmitter emitter, Queue<Set<DataWithMediaType>> queue) {
+            this(emitter, queue, new AtomicBoolean());
+        }
+    }
+}
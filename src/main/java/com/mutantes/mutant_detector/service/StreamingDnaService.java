@@ -0,0 +1,95 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+//Verificación de matrices que no entran en memoria: lee {"dna": [...]} con el parser
+//de Jackson fila por fila, sin construir el String[] ni la matriz completa
+@Service
+public class StreamingDnaService {
+    private static final String CAMPO_DNA = "dna";
+
+    private final JsonFactory jsonFactory;
+    private final MutantService mutantService;
+    //Con hash canónico el hash de las filas no coincide con el de /mutant (canonicalizar requiere la
+    //matriz entera): el veredicto se responde sin buscarlo ni guardarlo, para no duplicar registros
+    private final boolean canonicalHashing;
+
+    public StreamingDnaService(ObjectMapper objectMapper, MutantService mutantService,
+                               @Value("${mutant.hash.canonical:false}") boolean canonicalHashing) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.mutantService = mutantService;
+        this.canonicalHashing = canonicalHashing;
+    }
+
+    //La detección corta al encontrar 2 secuencias, pero el resto del body se sigue leyendo
+    //para validarlo y completar el hash (sin hash canónico es el mismo que /mutant, así se
+    //deduplica igual). El deadline del request (DetectionDeadlineFilter) se revisa en cada fila leída.
+    //Con hash canónico activo el veredicto no se busca ni se guarda (no suma en /stats).
+    //La matriz nunca está completa en memoria, así que no se guarda muestra en dna_samples:
+    //estos veredictos no se pueden re-verificar.
+    public boolean verifyAndSave(InputStream body) throws IOException {
+        MessageDigest digest = MutantService.newDigest();
+        StreamingMutantDetector detector = new StreamingMutantDetector(digest);
+        CancellationToken cancellation = CancellationToken.withDeadline(DetectionDeadline.current());
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            readRows(parser, detector, cancellation);
+        } catch (JsonProcessingException e) {
+            throw new InvalidDnaException("JSON mal formado en el cuerpo de la solicitud");
+        }
+        boolean isMutant = detector.finish();
+        if (canonicalHashing) {
+            return isMutant;
+        }
+        String hash = MutantService.toHex(digest.digest());
+        return mutantService.findOrDetect(hash, () -> isMutant);
+    }
+
+    private void readRows(JsonParser parser, StreamingMutantDetector detector, CancellationToken cancellation)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new InvalidDnaException("El cuerpo debe ser un objeto JSON con el campo 'dna'");
+        }
+        boolean found = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!CAMPO_DNA.equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value != JsonToken.START_ARRAY) {
+                throw new InvalidDnaException("El campo 'dna' debe ser un array de strings");
+            }
+            found = true;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NULL) {
+                    throw new InvalidDnaException("El ADN contiene filas nulas");
+                }
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new InvalidDnaException("El campo 'dna' debe ser un array de strings");
+                }
+                if (cancellation.shouldStop()) {
+                    throw new DetectionTimeoutException("La detección superó el tiempo límite del request");
+                }
+                //Se lee del buffer interno del parser: no se crea un String por fila
+                detector.accept(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+        }
+        if (!found) {
+            throw new InvalidDnaException("El array de ADN no puede ser nulo");
+        }
+    }
+}
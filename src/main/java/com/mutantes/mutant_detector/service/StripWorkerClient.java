@@ -0,0 +1,64 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.InternalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+//Cliente HTTP de los endpoints internos /internal/strips de los workers
+@Slf4j
+@Component
+public class StripWorkerClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String internalToken;
+
+    public StripWorkerClient(InternalProperties internalProperties) {
+        this.internalToken = internalProperties.getToken();
+    }
+
+    //Envía la franja (filas propias + solapamiento, una base ASCII por byte) y devuelve
+    //la cantidad de secuencias que encontró el worker (como máximo limit)
+    public CompletableFuture<Integer> scan(String worker, String jobId, List<byte[]> rows, int ownedRows,
+                                           int limit, Duration timeout) {
+        int n = rows.get(0).length;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(worker + "/internal/strips?job=" + jobId
+                        + "&n=" + n + "&owned=" + ownedRows + "&limit=" + limit + "&budgetMs=" + timeout.toMillis()))
+                .timeout(timeout)
+                .header("Content-Type", "application/octet-stream")
+                .header(InternalProperties.TOKEN_HEADER, internalToken)
+                //Las filas se envían tal cual, sin copiar la franja a un buffer intermedio
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(rows))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("El worker " + worker + " respondió " + response.statusCode());
+                    }
+                    return Integer.parseInt(response.body().trim());
+                });
+    }
+
+    //Avisa al worker que el veredicto ya está decidido; si no responde la franja vence sola por su presupuesto
+    public void cancel(String worker, String jobId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(worker + "/internal/strips/" + jobId))
+                .timeout(Duration.ofSeconds(1))
+                .header(InternalProperties.TOKEN_HEADER, internalToken)
+                .DELETE()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .exceptionally(e -> {
+                    log.debug("No se pudo cancelar la franja en {}: {}", worker, e.getMessage());
+                    return null;
+                });
+    }
+}
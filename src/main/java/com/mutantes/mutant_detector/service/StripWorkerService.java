@@ -0,0 +1,120 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.DistributedProperties;
+import com.mutantes.mutant_detector.config.InternalProperties;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import com.mutantes.mutant_detector.exception.PayloadTooLargeException;
+import com.mutantes.mutant_detector.validation.DnaBases;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+//Lado worker de la detección distribuida: cuenta las secuencias de las franjas que envía
+//el coordinador. Las franjas de un mismo job comparten el token para poder cancelarlas juntas.
+@Service
+@ConditionalOnProperty(name = "mutant.distributed.worker", havingValue = "true")
+public class StripWorkerService {
+
+    private final ConcurrentHashMap<String, RunningJob> jobs = new ConcurrentHashMap<>();
+    private final ForkJoinPool detectionPool;
+    private final long maxTimeoutMillis;
+    private final int maxStripBytes;
+
+    public StripWorkerService(DistributedProperties properties,
+                              InternalProperties internalProperties,
+                              ForkJoinPool detectionPool,
+                              @Value("${mutant.detection.max-timeout-ms:30000}") long maxTimeoutMillis) {
+        if (!internalProperties.hasToken()) {
+            throw new IllegalStateException("El modo worker requiere mutant.internal.token (el mismo que el coordinador)");
+        }
+        this.detectionPool = detectionPool;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+        //readNBytes no admite más de un arreglo
+        this.maxStripBytes = (int) Math.min(properties.getMaxStripBytes(), Integer.MAX_VALUE - 8);
+    }
+
+    //Lee la franja sin aceptar más de max-strip-bytes aunque el Content-Length falte o mienta
+    public byte[] readStrip(InputStream in, long contentLength) throws IOException {
+        if (contentLength > maxStripBytes) {
+            throw tooLarge();
+        }
+        byte[] body = in.readNBytes(maxStripBytes);
+        if (in.read() != -1) {
+            throw tooLarge();
+        }
+        return body;
+    }
+
+    //body: filas de largo n concatenadas (propias + hasta 3 de solapamiento).
+    //El presupuesto lo pide el coordinador pero se acota acá a (0, mutant.detection.max-timeout-ms]
+    public CompletableFuture<Integer> scan(String jobId, int n, int ownedRows, int limit, long budgetMs, byte[] body) {
+        byte[][] strip = toStrip(n, ownedRows, body);
+        long effectiveBudget = budgetMs > 0 ? Math.min(budgetMs, maxTimeoutMillis) : maxTimeoutMillis;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(effectiveBudget);
+
+        //Se registra antes de encolar para que un cancel temprano también alcance a la franja
+        RunningJob job = jobs.compute(jobId, (id, running) -> {
+            RunningJob current = running != null ? running : new RunningJob(CancellationToken.withDeadline(deadline));
+            current.strips++;
+            return current;
+        });
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return StripSequenceCounter.count(strip, ownedRows, limit, job.token);
+            } finally {
+                jobs.computeIfPresent(jobId, (id, running) -> --running.strips == 0 ? null : running);
+            }
+        }, detectionPool);
+    }
+
+    //El coordinador ya tiene el veredicto: las franjas en curso del job cortan en la próxima fila
+    public void cancel(String jobId) {
+        RunningJob job = jobs.get(jobId);
+        if (job != null) {
+            job.token.cancel();
+        }
+    }
+
+    private PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException("La franja supera el máximo permitido (" + maxStripBytes + " bytes)");
+    }
+
+    private static byte[][] toStrip(int n, int ownedRows, byte[] body) {
+        if (n < 1 || body.length % n != 0) {
+            throw new InvalidDnaException("La franja debe contener filas completas de largo " + n);
+        }
+        int rows = body.length / n;
+        if (ownedRows < 1 || ownedRows > rows || rows - ownedRows > StripSequenceCounter.SOLAPAMIENTO) {
+            throw new InvalidDnaException("La franja debe tener entre 0 y 3 filas de solapamiento");
+        }
+        byte[][] strip = new byte[rows][];
+        for (int r = 0; r < rows; r++) {
+            byte[] row = new byte[n];
+            System.arraycopy(body, r * n, row, 0, n);
+            for (byte base : row) {
+                if (!DnaBases.isBase((char) base)) {
+                    throw new InvalidDnaException("El ADN contiene caracteres inválidos (Solo se permite A, T, C, G)");
+                }
+            }
+            strip[r] = row;
+        }
+        return strip;
+    }
+
+    //Token compartido + cantidad de franjas del job que se están analizando en este worker
+    private static final class RunningJob {
+        private final CancellationToken token;
+        private int strips;
+
+        private RunningJob(CancellationToken token) {
+            this.token = token;
+        }
+    }
+}
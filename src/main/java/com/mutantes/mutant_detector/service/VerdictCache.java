@@ -0,0 +1,31 @@
+package com.mutantes.mutant_detector.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Caché LRU acotada de veredictos (hash de ADN -> es mutante)
+public class VerdictCache {
+
+    private final Map<String, Boolean> entries;
+
+    public VerdictCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized Boolean get(String hash) {
+        return entries.get(hash);
+    }
+
+    public synchronized void put(String hash, boolean isMutant) {
+        entries.put(hash, isMutant);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,265 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+//Snapshot binario de los veredictos más recientes (hash -> es mutante) y de los totales de /stats.
+//Con la base en memoria un reinicio arranca vacío: el snapshot se escribe periódicamente y al
+//apagar, y se recarga (lectura mapeada en memoria) antes de que el servidor web acepte tráfico,
+//así los duplicados se resuelven desde el primer request sin volver a analizarse.
+//Formato: magic (con versión), fecha, totales, cantidad, entradas de 33 bytes (SHA-256 + veredicto), CRC32.
+@Slf4j
+@Service
+public class VerdictSnapshotService implements SmartInitializingSingleton {
+
+    private static final int MAGIC = 0x4D565331; // "MVS1"
+    private static final int HEADER_BYTES = 4 + 8 + 8 + 8 + 4;
+    private static final int HASH_BYTES = 32;
+    private static final int ENTRY_BYTES = HASH_BYTES + 1;
+    private static final int INSERT_BATCH = 1000;
+    private static final String RECENT_QUERY =
+            "select dna_hash, is_mutant from dna_records order by id desc limit ?";
+    private static final String INSERT =
+            "insert into dna_records (dna_hash, is_mutant, created_at) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaShards dnaShards;
+    private final StatsService statsService;
+    private final ArchivedStatsRepository archivedStatsRepository;
+    private final boolean enabled;
+    private final Path path;
+    private final int maxEntries;
+
+    public VerdictSnapshotService(DataSource dataSource,
+                                  DnaShards dnaShards,
+                                  StatsService statsService,
+                                  ArchivedStatsRepository archivedStatsRepository,
+                                  @Value("${mutant.snapshot.enabled:false}") boolean enabled,
+                                  @Value("${mutant.snapshot.path:data/verdict-snapshot.bin}") String path,
+                                  @Value("${mutant.snapshot.max-entries:100000}") int maxEntries) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dnaShards = dnaShards;
+        this.statsService = statsService;
+        this.archivedStatsRepository = archivedStatsRepository;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.maxEntries = maxEntries;
+    }
+
+    //Corre con todos los beans creados y antes de que arranque el servidor web
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.snapshot.interval-ms:300000}",
+            initialDelayString = "${mutant.snapshot.interval-ms:300000}")
+    public void scheduledWrite() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    //Devuelve la cantidad de veredictos escritos; un error no debe tumbar la aplicación
+    public synchronized int write() {
+        try {
+            StatsResponse stats = statsService.getStats();
+            List<Entry> entries = recentEntries();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(stats.getCountMutantDna());
+                out.writeLong(stats.getCountHumanDna());
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    out.write(entry.hash);
+                    out.writeByte(entry.isMutant ? 1 : 0);
+                }
+                out.flush();
+                //El CRC cubre todo lo anterior y no se incluye a sí mismo
+                file.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+            }
+            moveIntoPlace(temp);
+            log.info("Snapshot de veredictos: {} entradas escritas en {}", entries.size(), path);
+            return entries.size();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo escribir el snapshot de veredictos en {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    //Devuelve la cantidad de veredictos recargados (0 si no hay snapshot válido o la base ya tiene datos)
+    public int load() {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        if (dnaShards.sumAcrossShards(shard -> countRecords()) > 0) {
+            //Base persistente o ya cargada: el snapshot solo aplica a un arranque en frío
+            log.info("dna_records ya tiene datos: se ignora el snapshot {}", path);
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4) {
+                throw new IOException("archivo truncado");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return restore(buffer);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot de veredictos {} inválido, se arranca en frío: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    private int restore(ByteBuffer buffer) throws IOException {
+        int payloadBytes = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(payloadBytes));
+        if ((int) crc.getValue() != buffer.getInt(payloadBytes)) {
+            throw new IOException("CRC inválido");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("formato desconocido");
+        }
+        buffer.getLong(); // Fecha de escritura (informativa)
+        long mutantTotal = buffer.getLong();
+        long humanTotal = buffer.getLong();
+        int count = buffer.getInt();
+        if ((long) count * ENTRY_BYTES != payloadBytes - HEADER_BYTES) {
+            throw new IOException("cantidad de entradas inconsistente");
+        }
+
+        //Se insertan en el orden del archivo (del más viejo al más nuevo) agrupados por shard
+        HexFormat hex = HexFormat.of();
+        List<List<Object[]>> batches = new ArrayList<>();
+        for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+            batches.add(new ArrayList<>(INSERT_BATCH));
+        }
+        //La retención cuenta la antigüedad desde la recarga
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        byte[] hash = new byte[HASH_BYTES];
+        long mutants = 0;
+        for (int i = 0; i < count; i++) {
+            buffer.get(hash);
+            boolean isMutant = buffer.get() != 0;
+            String dnaHash = hex.formatHex(hash);
+            List<Object[]> batch = batches.get(dnaShards.shardOf(dnaHash));
+            batch.add(new Object[]{dnaHash, isMutant, now});
+            if (isMutant) {
+                mutants++;
+            }
+            if (batch.size() == INSERT_BATCH) {
+                flush(dnaShards.shardOf(dnaHash), batch);
+            }
+        }
+        for (int shard = 0; shard < batches.size(); shard++) {
+            flush(shard, batches.get(shard));
+        }
+
+        //Lo que no entró en el snapshot se conserva como archivado para que /stats no cambie
+        long archivedMutants = Math.max(0, mutantTotal - mutants);
+        long archivedHumans = Math.max(0, humanTotal - (count - mutants));
+        if (archivedMutants > 0 || archivedHumans > 0) {
+            dnaShards.onShard(0, () -> archivedStatsRepository.save(
+                    new ArchivedStats(ArchivedStats.SINGLETON_ID, archivedMutants, archivedHumans)));
+        }
+        log.info("Snapshot de veredictos: {} entradas recargadas desde {}", count, path);
+        return count;
+    }
+
+    private void flush(int shard, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            dnaShards.onShard(shard, () -> jdbcTemplate.batchUpdate(INSERT, batch));
+            batch.clear();
+        }
+    }
+
+    private long countRecords() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from dna_records", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    //Los más recientes de cada shard, hasta maxEntries en total; se escriben del más viejo al más nuevo
+    private List<Entry> recentEntries() {
+        int perShard = Math.max(1, maxEntries / dnaShards.getShardCount());
+        HexFormat hex = HexFormat.of();
+        List<Entry> entries = new ArrayList<>();
+        for (int shard = 0; shard < dnaShards.getShardCount(); shard++) {
+            List<Entry> recent = dnaShards.onShard(shard, () -> jdbcTemplate.query(RECENT_QUERY,
+                    (rs, row) -> toEntry(hex, rs.getString(1), rs.getBoolean(2)), perShard));
+            recent.removeIf(entry -> entry == null);
+            Collections.reverse(recent);
+            entries.addAll(recent);
+        }
+        return entries;
+    }
+
+    //Solo hashes SHA-256 en hexadecimal (lo que produce MutantService); el resto se omite
+    private static Entry toEntry(HexFormat hex, String dnaHash, boolean isMutant) {
+        if (dnaHash == null || dnaHash.length() != HASH_BYTES * 2) {
+            return null;
+        }
+        try {
+            byte[] hash = hex.parseHex(dnaHash);
+            //En mayúsculas no volvería a coincidir al recargarse en minúsculas
+            return hex.formatHex(hash).equals(dnaHash) ? new Entry(hash, isMutant) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void moveIntoPlace(Path temp) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private record Entry(byte[] hash, boolean isMutant) {
+    }
+}
@@ -3,8 +3,6 @@ package com.mutantes.mutant_detector.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.regex.Pattern;
-
 public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSequence, String[]> {
 
     @Override
@@ -12,11 +10,10 @@ public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSe
         if (dna == null || dna.length == 0) return false;
 
         int n = dna.length;
-        Pattern pattern = Pattern.compile("^[ATCG]+$");
 
         for (String row : dna) {
             if (row == null || row.length() != n) return false;
-            if (!pattern.matcher(row).matches()) return false;
+            if (!DnaBases.isValidRow(row)) return false;
         }
         return true;
     }
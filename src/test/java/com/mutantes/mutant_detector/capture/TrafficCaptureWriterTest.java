@@ -0,0 +1,98 @@
+package com.mutantes.mutant_detector.capture;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficCaptureWriterTest {
+
+    private static final byte[] MUTANT = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HUMAN = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private static CapturedRequest request(long atMicros, byte[] body, int status) {
+        return new CapturedRequest(atMicros, "/mutant", "application/json", body, status, 150);
+    }
+
+    @Test
+    @DisplayName("1. Lo capturado se relee igual, rotando archivos y conservando solo los últimos")
+    void testRoundTripAndRotation() throws Exception {
+        TrafficCaptureWriter writer = new TrafficCaptureWriter(dir, 200, 3, 100);
+        List<CapturedRequest> sent = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CapturedRequest request = request(1_000L * i, i % 2 == 0 ? MUTANT : HUMAN, i % 2 == 0 ? 200 : 403);
+            sent.add(request);
+            assertTrue(writer.offer(request));
+        }
+        writer.close();
+
+        List<Path> files = TrafficCaptureWriter.list(dir);
+        assertEquals(3, files.size());
+        List<CapturedRequest> read = CaptureReplay.load(List.of(dir));
+        assertFalse(read.isEmpty());
+        //Los archivos conservados son los últimos: lo leído es un sufijo de lo enviado
+        List<CapturedRequest> tail = sent.subList(sent.size() - read.size(), sent.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(tail.get(i).atMicros(), read.get(i).atMicros());
+            assertArrayEquals(tail.get(i).body(), read.get(i).body());
+            assertEquals(tail.get(i).status(), read.get(i).status());
+        }
+        assertFalse(writer.offer(request(0, MUTANT, 200))); // Cerrado: descarta sin bloquear
+    }
+
+    @Test
+    @DisplayName("2. El replay reporta los veredictos que cambiaron y los percentiles")
+    void testReplayReportsDifferences() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        //Servidor de prueba que responde 200 a todo: los humanos capturados pasan a ser diferencias
+        server.createContext("/mutant", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            List<CapturedRequest> capture = List.of(request(0, MUTANT, 200), request(2_000, HUMAN, 403),
+                    request(4_000, MUTANT, 200));
+            URI target = URI.create("http://localhost:" + server.getAddress().getPort());
+
+            CaptureReplay.Report original = new CaptureReplay(target, 1, 1).replay(capture);
+            CaptureReplay.Report max = new CaptureReplay(target, 0, 2).replay(capture);
+
+            for (CaptureReplay.Report report : List.of(original, max)) {
+                assertEquals(3, report.requests());
+                assertEquals(0, report.errors());
+                assertEquals(1, report.differences().size());
+                assertTrue(report.differences().get(0).contains("403 -> 200"));
+                assertTrue(report.format().contains("Veredictos distintos: 1"));
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("3. Percentiles por rango más cercano")
+    void testPercentile() {
+        long[] values = {5, 1, 4, 2, 3, 6, 7, 8, 9, 10};
+
+        assertEquals(5, CaptureReplay.Report.percentile(values, 50));
+        assertEquals(9, CaptureReplay.Report.percentile(values, 90));
+        assertEquals(10, CaptureReplay.Report.percentile(values, 100));
+        assertEquals(0, CaptureReplay.Report.percentile(new long[0], 99));
+    }
+}
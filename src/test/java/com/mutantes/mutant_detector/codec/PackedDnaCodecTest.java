@@ -0,0 +1,67 @@
+package com.mutantes.mutant_detector.codec;
+
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDnaCodecTest {
+
+    private final PackedDnaCodec codec = new PackedDnaCodec(100);
+
+    @Test
+    @DisplayName("1. Ida y vuelta: decode(encode(x)) == x (N no múltiplo de 4)")
+    void testRoundTrip() throws Exception {
+        byte[][] dna = {
+                "ATGCGA".getBytes(), "CAGTGC".getBytes(), "TTATGT".getBytes(),
+                "AGAAGG".getBytes(), "CCCCTA".getBytes(), "TCACTG".getBytes()
+        };
+
+        byte[] packed = PackedDnaCodec.encode(dna);
+        // 4 bytes de header + ceil(36 / 4) bytes de bases
+        assertEquals(4 + 9, packed.length);
+
+        byte[][] decoded = codec.decode(new ByteArrayInputStream(packed));
+        assertTrue(Arrays.deepEquals(dna, decoded));
+    }
+
+    @Test
+    @DisplayName("2. Bytes de más después de las bases -> InvalidDnaException")
+    void testTrailingBytes() {
+        byte[] packed = PackedDnaCodec.encode(new byte[][]{"AAAA".getBytes(), "CCCC".getBytes(),
+                "GGGG".getBytes(), "TTTT".getBytes()});
+        byte[] withExtra = Arrays.copyOf(packed, packed.length + 1);
+
+        assertThrows(InvalidDnaException.class, () -> codec.decode(new ByteArrayInputStream(withExtra)));
+    }
+
+    @Test
+    @DisplayName("3. N fuera de rango (0 o mayor al máximo) -> InvalidDnaException")
+    void testInvalidSize() {
+        byte[] empty = {0, 0, 0, 0};
+        byte[] tooLarge = {0, 0, 0x01, 0x00}; // N = 256 > 100
+
+        assertThrows(InvalidDnaException.class, () -> codec.decode(new ByteArrayInputStream(empty)));
+        assertThrows(InvalidDnaException.class, () -> codec.decode(new ByteArrayInputStream(tooLarge)));
+    }
+
+    @Test
+    @DisplayName("4. Header incompleto -> InvalidDnaException")
+    void testMissingHeader() {
+        assertThrows(InvalidDnaException.class, () -> codec.decode(new ByteArrayInputStream(new byte[]{0, 1})));
+    }
+
+    @Test
+    @DisplayName("5. Header con N grande y cuerpo truncado -> InvalidDnaException sin reservar N*N")
+    void testTruncatedBodyWithLargeHeader() {
+        PackedDnaCodec largeCodec = new PackedDnaCodec(1_000_000);
+        byte[] header = {0x00, 0x0f, 0x42, 0x40, 0x1b}; // N = 1.000.000, un solo byte de bases
+
+        // Reservando la matriz completa de entrada (10^12 bytes) esto sería un OutOfMemoryError
+        assertThrows(InvalidDnaException.class, () -> largeCodec.decode(new ByteArrayInputStream(header)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.mutantes.mutant_detector.service.FlightRecordingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRecordingControllerTest {
+
+    @Mock
+    private FlightRecordingService flightRecordingService;
+
+    @InjectMocks
+    private FlightRecordingController controller;
+
+    @Test
+    @DisplayName("1. La grabación termina con el request ya cerrado -> El .jfr se borra")
+    void testRecordingFinishedAfterRequestEndedIsDeleted() throws Exception {
+        CompletableFuture<Path> recording = new CompletableFuture<>();
+        Path file = Path.of("mutant-test.jfr");
+        when(flightRecordingService.record(30)).thenReturn(recording);
+
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result = controller.record(30);
+        // El async ya terminó (p. ej. el cliente se desconectó y se resolvió con error)
+        result.setErrorResult(new IllegalStateException("cliente desconectado"));
+        recording.complete(file);
+
+        assertTrue(result.isSetOrExpired());
+        verify(flightRecordingService).delete(file);
+        verify(flightRecordingService, never()).transfer(any(), any());
+    }
+
+    @Test
+    @DisplayName("2. Grabación entregada -> El archivo queda para transfer, no se borra antes")
+    void testDeliveredRecordingIsNotDeletedEarly() {
+        when(flightRecordingService.record(30)).thenReturn(CompletableFuture.completedFuture(Path.of("mutant-test.jfr")));
+
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result = controller.record(30);
+
+        assertTrue(result.hasResult());
+        verify(flightRecordingService, never()).delete(any());
+    }
+}
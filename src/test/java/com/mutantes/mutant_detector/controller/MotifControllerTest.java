@@ -0,0 +1,49 @@
+package com.mutantes.mutant_detector.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.dto.MotifRequest;
+import com.mutantes.mutant_detector.service.MotifSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Deadline máximo de 0 ms: cualquier búsqueda que llega al servicio ya está vencida
+@WebMvcTest(controllers = MotifController.class, properties = {"springdoc.api-docs.enabled=false",
+        "mutant.detection.max-timeout-ms=0"})
+@Import(MotifSearchService.class) // Búsqueda real con el deadline del filtro
+class MotifControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Simula peticiones HTTP (incluye DetectionDeadlineFilter)
+
+    @MockBean
+    private ForkJoinPool detectionPool; // Matrices chicas: recorrido secuencial
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("1. POST /motifs con el deadline vencido -> 503 sin resultados parciales")
+    void testExpiredDeadlineReturns503() throws Exception {
+        MotifRequest request = new MotifRequest(
+                new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"}, List.of("CCCC"), 0);
+
+        mockMvc.perform(post("/motifs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.path").value("/motifs"));
+    }
+}
@@ -1,25 +1,33 @@
 package com.mutantes.mutant_detector.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
 import com.mutantes.mutant_detector.dto.DnaRequest;
 import com.mutantes.mutant_detector.dto.StatsResponse;
 import com.mutantes.mutant_detector.service.MutantService;
+import com.mutantes.mutant_detector.service.StatsResponseCache;
 import com.mutantes.mutant_detector.service.StatsService;
+import com.mutantes.mutant_detector.service.StreamingDnaService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = MutantController.class, properties = {"springdoc.api-docs.enabled=false"})
+@Import({StatsResponseCache.class, PackedDnaCodec.class}) // Caché de /stats y codec binario reales
 class MutantControllerTest {
 
     @Autowired
@@ -31,6 +39,9 @@ class MutantControllerTest {
     @MockBean
     private StatsService statsService; // Mock de estadísticas
 
+    @MockBean
+    private StreamingDnaService streamingDnaService; // Mock de la verificación por streaming
+
     @Autowired
     private ObjectMapper objectMapper; // Para convertir objetos a JSON
 
@@ -216,4 +227,72 @@ class MutantControllerTest {
         mockMvc.perform(get("/stats"))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @DisplayName("16. GET /stats - Devuelve ETag y responde 304 si el cliente ya lo tiene")
+    void testGetStatsNotModifiedReturns304() throws Exception {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+
+        String etag = mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        // Dentro del TTL no se vuelve a consultar el servicio
+        verify(statsService, times(1)).getStats();
+    }
+
+    @Test
+    @DisplayName("17. GET /stats - ETag desconocido -> Retorna 200 con el cuerpo completo")
+    void testGetStatsStaleEtagReturns200() throws Exception {
+        when(statsService.getStats()).thenReturn(new StatsResponse(1L, 1L, 1.0));
+
+        mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, "\"otro-etag\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count_mutant_dna").value(1));
+    }
+
+    @Test
+    @DisplayName("18. POST /mutant binario - Es Mutante -> Retorna 200 OK")
+    void testCheckMutantPackedReturns200() throws Exception {
+        when(mutantService.verifyAndSaveMatrix(any())).thenReturn(true);
+
+        byte[][] dna = {
+                "AAAA".getBytes(), "CCCC".getBytes(), "TCAG".getBytes(), "GGTC".getBytes()
+        };
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(PackedDnaCodec.encode(dna)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("19. POST /mutant binario - Cuerpo incompleto -> Retorna 400 Bad Request")
+    void testCheckMutantPackedTruncatedReturns400() throws Exception {
+        // Header con N=6 pero solo 2 bytes de bases (se necesitan 9)
+        byte[] body = {0, 0, 0, 6, 0x1b, 0x1b};
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
+    @Test
+    @DisplayName("20. POST /mutant/stream - Es Mutante -> Retorna 200 OK")
+    void testCheckMutantStreamReturns200() throws Exception {
+        when(streamingDnaService.verifyAndSave(any())).thenReturn(true);
+
+        mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\":[\"AAAA\",\"CCCC\",\"TCAG\",\"GGTC\"]}"))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,123 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mutantes.mutant_detector.config.AdmissionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxQueueWaitMs(10);
+        properties.setLanes(List.of(lane("small", 32, 4, 4), lane("large", Integer.MAX_VALUE, 1, 0)));
+        filter = new AdmissionControlFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("1. N se estima por Content-Length según el formato")
+    void testEstimateN() {
+        // JSON de 6x6: ~ 6 filas de 9 bytes + envoltorio
+        assertTrue(AdmissionControlFilter.estimateN(70, "application/json") <= 32);
+        assertEquals(1000, AdmissionControlFilter.estimateN(1_000_000, "application/json"));
+        // Binario: 4 bytes de header + N^2/4 bytes
+        assertEquals(1000, AdmissionControlFilter.estimateN(4 + 250_000, "application/octet-stream"));
+        // Sin Content-Length: peor caso
+        assertEquals(Integer.MAX_VALUE, AdmissionControlFilter.estimateN(-1, "application/json"));
+    }
+
+    @Test
+    @DisplayName("2. Cada tamaño cae en su carril")
+    void testLaneSelection() {
+        assertEquals("small", filter.laneFor(6).getName());
+        assertEquals("small", filter.laneFor(32).getName());
+        assertEquals("large", filter.laneFor(33).getName());
+    }
+
+    @Test
+    @DisplayName("3. Carril lleno -> 503 con Retry-After, sin llegar al controller")
+    void testFullLaneIsShed() throws Exception {
+        // Se ocupa el único permiso del carril grande (sin cola)
+        AdmissionLane large = filter.laneFor(Integer.MAX_VALUE);
+        assertTrue(large.tryEnter(0));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType("application/json");
+        request.setContent(new byte[2_000_000]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest(), "El request no debe llegar al controller");
+        large.exit();
+    }
+
+    @Test
+    @DisplayName("4. Carril con lugar -> Pasa y libera el permiso al terminar")
+    void testAdmittedRequestReleasesPermit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType("application/json");
+        request.setContent("{\"dna\":[\"AAAA\",\"CCCC\",\"TCAG\",\"GGTC\"]}".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        // Si el permiso no se liberó, el cuarto ingreso fallaría
+        AdmissionLane small = filter.laneFor(6);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(small.tryEnter(0), "Permiso " + (i + 1) + " de 4 no disponible");
+        }
+        assertFalse(small.tryEnter(0));
+        for (int i = 0; i < 4; i++) {
+            small.exit();
+        }
+    }
+
+    @Test
+    @DisplayName("5. Cuerpo comprimido -> Va al carril grande aunque el largo comprimido sea chico")
+    void testCompressedBodyGoesToLargestLane() throws Exception {
+        // Se ocupa el carril grande: un gzip de 60 bytes puede ser una matriz de 20000x20000
+        AdmissionLane large = filter.laneFor(Integer.MAX_VALUE);
+        assertTrue(large.tryEnter(0));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType("application/json");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(new byte[60]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertNull(chain.getRequest());
+        large.exit();
+    }
+
+    private static AdmissionProperties.Lane lane(String name, int maxN, int concurrency, int queueSize) {
+        AdmissionProperties.Lane lane = new AdmissionProperties.Lane();
+        lane.setName(name);
+        lane.setMaxN(maxN);
+        lane.setConcurrency(concurrency);
+        lane.setQueueSize(queueSize);
+        return lane;
+    }
+}
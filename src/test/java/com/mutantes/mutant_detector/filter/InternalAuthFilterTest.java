@@ -0,0 +1,68 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mutantes.mutant_detector.config.InternalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalAuthFilterTest {
+
+    private static InternalAuthFilter filter(String token) {
+        InternalProperties properties = new InternalProperties();
+        properties.setToken(token);
+        return new InternalAuthFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/internal/verdicts/abc");
+        if (token != null) {
+            request.addHeader(InternalProperties.TOKEN_HEADER, token);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("1. Token correcto -> Llega al controller")
+    void testValidTokenPasses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter("s3creto").doFilter(request("s3creto"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("2. Token ausente o distinto -> 401 sin llegar al controller")
+    void testMissingOrWrongTokenIsRejected() throws Exception {
+        for (String token : new String[]{null, "otro", ""}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter("s3creto").doFilter(request(token), response, chain);
+
+            assertEquals(401, response.getStatus());
+            assertNull(chain.getRequest());
+            assertTrue(response.getContentAsString().contains("\"status\":401"));
+        }
+    }
+
+    @Test
+    @DisplayName("3. Sin secreto configurado -> Endpoints internos cerrados (403)")
+    void testNoConfiguredTokenClosesEndpoints() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter("").doFilter(request(""), response, chain);
+
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+}
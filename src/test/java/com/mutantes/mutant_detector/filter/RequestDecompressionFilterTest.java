@@ -0,0 +1,165 @@
+package com.mutantes.mutant_detector.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mutantes.mutant_detector.exception.InvalidCompressedBodyException;
+import com.mutantes.mutant_detector.exception.PayloadTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDecompressionFilterTest {
+
+    private static final byte[] BODY = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RequestDecompressionFilter filter =
+            new RequestDecompressionFilter(1_000, 2_000_000, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    //Frame zstd con un único bloque raw (RFC 8878): magic, header con tamaño de 1 byte, bloque
+    private static byte[] zstdRaw(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{0x28, (byte) 0xB5, 0x2F, (byte) 0xFD, 0x20, (byte) data.length});
+        int blockHeader = 1 | (data.length << 3); // último bloque, tipo raw
+        out.writeBytes(new byte[]{(byte) blockHeader, (byte) (blockHeader >> 8), (byte) (blockHeader >> 16)});
+        out.writeBytes(data);
+        return out.toByteArray();
+    }
+
+    private static MockHttpServletRequest request(String encoding, byte[] content) {
+        return request("/mutant", encoding, content);
+    }
+
+    private static MockHttpServletRequest request(String path, String encoding, byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        request.setContent(content);
+        return request;
+    }
+
+    //Cadena que consume el cuerpo como lo haría el controller
+    private static FilterChain reading(AtomicReference<HttpServletRequest> seen, AtomicReference<byte[]> body) {
+        return (request, response) -> {
+            seen.set((HttpServletRequest) request);
+            body.set(request.getInputStream().readAllBytes());
+        };
+    }
+
+    @Test
+    @DisplayName("1. gzip: el controller lee el cuerpo descomprimido, sin Content-Encoding ni largo")
+    void testGzipIsDecompressed() throws Exception {
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        byte[] compressed = gzip(BODY);
+        filter.doFilter(request("gzip", compressed), new MockHttpServletResponse(), reading(seen, body));
+
+        assertArrayEquals(BODY, body.get());
+        assertNull(seen.get().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, seen.get().getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("2. zstd: se descomprime igual que gzip")
+    void testZstdIsDecompressed() throws Exception {
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        filter.doFilter(request("zstd", zstdRaw(BODY)), new MockHttpServletResponse(), reading(seen, body));
+
+        assertArrayEquals(BODY, body.get());
+    }
+
+    @Test
+    @DisplayName("3. Bomba de compresión: se corta al superar el máximo descomprimido")
+    void testDecompressionBombIsRejected() throws Exception {
+        byte[] bomb = gzip(new byte[1_000_000]); // ~1 KB comprimido
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        assertThrows(PayloadTooLargeException.class, () ->
+                filter.doFilter(request("gzip", bomb), new MockHttpServletResponse(), reading(seen, body)));
+        assertNull(body.get());
+    }
+
+    @Test
+    @DisplayName("4. Cuerpo dañado -> InvalidCompressedBodyException (400)")
+    void testCorruptBody() {
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        assertThrows(InvalidCompressedBodyException.class, () ->
+                filter.doFilter(request("gzip", BODY), new MockHttpServletResponse(), reading(seen, body)));
+    }
+
+    @Test
+    @DisplayName("5. Content-Encoding desconocido -> 415 sin llegar al controller; sin encoding no se toca")
+    void testUnsupportedEncoding() throws Exception {
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("br", BODY), response, reading(seen, body));
+
+        assertEquals(415, response.getStatus());
+        assertNull(seen.get());
+
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/mutant");
+        plain.setContent(BODY);
+        filter.doFilter(plain, new MockHttpServletResponse(), reading(seen, body));
+        assertSame(plain, seen.get());
+    }
+
+    @Test
+    @DisplayName("6. /mutant/stream no usa el límite del resto: se lee completo hasta stream-max-bytes")
+    void testStreamEndpointHasItsOwnLimit() throws Exception {
+        byte[] large = new byte[1_000_000];
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        filter.doFilter(request("/mutant/stream", "gzip", gzip(large)), new MockHttpServletResponse(), reading(seen, body));
+
+        assertEquals(large.length, body.get().length);
+    }
+
+    @Test
+    @DisplayName("7. /mutant/stream por encima de stream-max-bytes -> PayloadTooLargeException (413)")
+    void testStreamLimitStopsBombs() throws Exception {
+        byte[] bomb = new byte[3_000_000];
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        assertThrows(PayloadTooLargeException.class, () -> filter.doFilter(
+                request("/mutant/stream", "gzip", gzip(bomb)), new MockHttpServletResponse(), reading(seen, body)));
+        assertNull(body.get());
+    }
+
+    @Test
+    @DisplayName("8. Lectura asíncrona de un cuerpo comprimido -> UnsupportedOperationException")
+    void testAsyncReadIsRejected() {
+        assertThrows(UnsupportedOperationException.class, () -> filter.doFilter(
+                request("gzip", gzip(BODY)), new MockHttpServletResponse(),
+                (request, response) -> request.getInputStream().setReadListener(null)));
+    }
+}
@@ -0,0 +1,165 @@
+package com.mutantes.mutant_detector.perf;
+
+import com.mutantes.mutant_detector.service.MutantDetector;
+import com.mutantes.mutant_detector.service.MutantService;
+import com.mutantes.mutant_detector.validation.ValidDnaSequenceValidator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Presupuestos de asignación de memoria y latencia normalizada del camino caliente.
+//Falla si alguna operación supera lo definido en perf/budgets.properties.
+class PerformanceBudgetTest {
+
+    private static final int[] TAMANIOS = {6, 16, 100};
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    //Pool propio para N >= 20: se registran sus hilos para sumar lo que asignan en paralelo
+    private static final Set<Thread> POOL_THREADS = ConcurrentHashMap.newKeySet();
+    private static final ForkJoinPool POOL = new ForkJoinPool(4, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        POOL_THREADS.add(thread);
+        return thread;
+    }, null, false);
+
+    private static Properties budgets;
+    //Evita que el JIT elimine las llamadas medidas
+    private static volatile Object sink;
+
+    private final MutantDetector mutantDetector = new MutantDetector(POOL, null);
+    private final MutantService mutantService = new MutantService(null, null, null, null, null, null, null, false, false);
+    private final ValidDnaSequenceValidator validator = new ValidDnaSequenceValidator();
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = PerformanceBudgetTest.class.getResourceAsStream("/perf/budgets.properties")) {
+            assertNotNull(in, "Falta perf/budgets.properties");
+            budgets.load(in);
+        }
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "La JVM no soporta medir asignaciones por hilo");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    @DisplayName("1. MutantDetector.isMutant respeta el presupuesto por tamaño")
+    void testDetectorBudget() {
+        checkBudgets("detector", dna -> sink = mutantDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("2. calculateHash respeta el presupuesto por tamaño")
+    void testHashBudget() {
+        checkBudgets("hash", dna -> sink = mutantService.calculateHash(dna));
+    }
+
+    @Test
+    @DisplayName("3. La validación del request respeta el presupuesto (sin regex)")
+    void testValidationBudget() {
+        checkBudgets("validation", dna -> sink = validator.isValid(dna, null));
+    }
+
+    private void checkBudgets(String operation, Consumer<String[]> call) {
+        List<String> violations = new ArrayList<>();
+        List<String> measurements = new ArrayList<>();
+        for (int n : TAMANIOS) {
+            String[] dna = humanDna(n);
+            byte[][] matrix = toMatrix(dna);
+            int iterations = n >= 100 ? 2_000 : 20_000;
+
+            Measurement calibration = measure(() -> sink = touchAllCells(matrix), iterations);
+            Measurement measured = measure(() -> call.accept(dna), iterations);
+            double normalizedTime = (double) measured.nanosPerCall / Math.max(calibration.nanosPerCall, 1);
+            measurements.add(String.format("N=%d: %d B/llamada, %.1fx", n, measured.bytesPerCall, normalizedTime));
+
+            long maxBytes = (long) budget(operation, n, "bytes");
+            double maxTime = budget(operation, n, "time");
+            if (measured.bytesPerCall > maxBytes) {
+                violations.add(operation + " N=" + n + ": " + measured.bytesPerCall + " B > " + maxBytes + " B");
+            }
+            if (normalizedTime > maxTime) {
+                violations.add(operation + " N=" + n + ": " + String.format("%.1f", normalizedTime) + "x > " + maxTime + "x");
+            }
+        }
+        assertTrue(violations.isEmpty(), () -> "Presupuesto excedido: " + violations + " (medido: " + measurements + ")");
+    }
+
+    //Corre una ronda de calentamiento (JIT) y luego mide bytes y tiempo por llamada
+    private static Measurement measure(Runnable call, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = allocatedBytes() - bytesBefore;
+        return new Measurement(bytes / iterations, elapsed / iterations);
+    }
+
+    //Hilo que llama más los hilos del pool (la detección paralela asigna en los workers)
+    private static long allocatedBytes() {
+        long total = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (Thread thread : POOL_THREADS) {
+            total += Math.max(THREADS.getThreadAllocatedBytes(thread.getId()), 0);
+        }
+        return total;
+    }
+
+    private static double budget(String operation, int n, String kind) {
+        String value = budgets.getProperty(operation + "." + n + "." + kind);
+        assertNotNull(value, "Sin presupuesto para " + operation + "." + n + "." + kind);
+        return Double.parseDouble(value.trim());
+    }
+
+    private static long touchAllCells(byte[][] matrix) {
+        long sum = 0;
+        for (byte[] row : matrix) {
+            for (byte base : row) {
+                sum += base;
+            }
+        }
+        return sum;
+    }
+
+    //Matriz humana fija: ninguna base se repite en ninguna dirección, se recorre completa
+    private static String[] humanDna(int n) {
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = "ACGT".charAt((c + 2 * r) % 4);
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+
+    private static byte[][] toMatrix(String[] dna) {
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].getBytes();
+        }
+        return matrix;
+    }
+
+    private record Measurement(long bytesPerCall, long nanosPerCall) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.mutantes.mutant_detector.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of(
+            "http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    @DisplayName("1. El mismo hash siempre pertenece al mismo nodo")
+    void testOwnershipIsStable() throws Exception {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing sameRing = new ConsistentHashRing(List.of(
+                "http://localhost:8083", "http://localhost:8081", "http://localhost:8082"), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            String hash = sha256("dna-" + i);
+            assertEquals(ring.ownerOf(hash), sameRing.ownerOf(hash));
+        }
+    }
+
+    @Test
+    @DisplayName("2. Los hashes se reparten entre todos los nodos")
+    void testDistribution() throws Exception {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(ring.ownerOf(sha256("dna-" + i)), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 600, "Reparto desbalanceado: " + counts));
+    }
+
+    @Test
+    @DisplayName("3. Quitar un nodo solo mueve los hashes que eran suyos")
+    void testRemovingNodeMovesOnlyItsKeys() throws Exception {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(NODES.subList(0, 2), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            String hash = sha256("dna-" + i);
+            String owner = before.ownerOf(hash);
+            if (!owner.equals("http://localhost:8083")) {
+                assertEquals(owner, after.ownerOf(hash));
+            }
+        }
+    }
+
+    private static String sha256(String value) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+}
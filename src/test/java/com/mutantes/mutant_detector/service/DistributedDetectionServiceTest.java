@@ -0,0 +1,98 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.DistributedProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DistributedDetectionServiceTest {
+
+    private static final String W1 = "http://localhost:8082";
+    private static final String W2 = "http://localhost:8083";
+
+    //Vertical de A en la columna 0 (filas 1-4) y diagonal ↗ de T (fila 4 a fila 1)
+    private static final String[] MUTANT = {"CTGCAG", "ATGCTA", "AGCTGC", "AGTCGC", "ATGCAG", "GCAGTC"};
+
+    @Mock
+    private StripWorkerClient client; // Workers remotos
+
+    private DistributedProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DistributedProperties();
+        properties.setEnabled(true);
+        properties.setWorkers(List.of(W1, W2 + "/"));
+        properties.setMinN(4);
+        properties.setStripRows(2);
+    }
+
+    private MutantDetector detector() {
+        DistributedDetectionService service = new DistributedDetectionService(properties, client, ForkJoinPool.commonPool());
+        return new DistributedMutantDetector(ForkJoinPool.commonPool(), null, service);
+    }
+
+    @Test
+    @DisplayName("1. Reparte franjas con 3 filas de solapamiento y suma las secuencias de los workers")
+    void testSumsStripCounts() {
+        //Franjas de 2 filas propias: [0,2)+3, [2,4)+2, [4,6)+0
+        when(client.scan(anyString(), anyString(), anyList(), anyInt(), anyInt(), any()))
+                .thenReturn(CompletableFuture.completedFuture(0), CompletableFuture.completedFuture(1),
+                        CompletableFuture.completedFuture(1));
+
+        assertTrue(detector().isMutant(MUTANT));
+
+        verify(client).scan(eq(W1), anyString(), argThat(rows -> rows.size() == 5), eq(2), eq(2), any());
+        verify(client).scan(eq(W2), anyString(), argThat(rows -> rows.size() == 4), eq(2), eq(2), any());
+        verify(client).scan(eq(W1), anyString(), argThat(rows -> rows.size() == 2), eq(2), eq(2), any());
+        verify(client, never()).cancel(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("2. Con 2 secuencias confirmadas cancela las franjas que siguen en curso")
+    void testCancelsPendingStrips() {
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+        when(client.scan(anyString(), anyString(), anyList(), anyInt(), anyInt(), any()))
+                .thenReturn(slow, CompletableFuture.completedFuture(2));
+
+        assertTrue(detector().isMutant(MUTANT));
+
+        //La tercera franja ya no se envía y la primera (W1) se cancela
+        assertTrue(slow.isCancelled());
+        verify(client, times(2)).scan(anyString(), anyString(), anyList(), anyInt(), anyInt(), any());
+        verify(client).cancel(eq(W1), anyString());
+        verify(client, never()).cancel(eq(W2), anyString());
+    }
+
+    @Test
+    @DisplayName("3. Si un worker falla su franja se analiza localmente")
+    void testFallsBackToLocalScan() {
+        when(client.scan(anyString(), anyString(), anyList(), anyInt(), anyInt(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("caído")));
+
+        assertTrue(detector().isMutant(MUTANT));
+        assertFalse(detector().isMutant(new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"}));
+    }
+
+    @Test
+    @DisplayName("4. Las matrices menores a min-n se analizan localmente")
+    void testSmallMatricesStayLocal() {
+        properties.setMinN(100);
+
+        assertTrue(detector().isMutant(MUTANT));
+
+        verifyNoInteractions(client);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.exception.InvalidExportFormatException;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({DnaExportService.class, DnaShards.class})
+@TestPropertySource(properties = "mutant.export.page-size=2") // Fuerza varias páginas de keyset
+class DnaExportServiceTest {
+
+    @Autowired
+    private DnaExportService dnaExportService;
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (String hash : List.of("aaa1", "bbb2", "ccc3", "ddd4", "eee5")) {
+            repository.saveAndFlush(DnaRecord.builder().dnaHash(hash).isMutant(hash.startsWith("a")).build());
+        }
+    }
+
+    private static List<String> gunzipLines(byte[] data) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("1. CSV comprimido con encabezado y todas las filas, recorriendo varias páginas")
+    void testExportCsv() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = dnaExportService.export(DnaExportService.Format.CSV, output);
+
+        List<String> lines = gunzipLines(output.toByteArray());
+        assertEquals(5, exported);
+        assertEquals("id,dna_hash,is_mutant,created_at", lines.get(0));
+        assertEquals(6, lines.size());
+        assertTrue(lines.get(1).contains(",aaa1,true,"));
+        assertTrue(lines.get(5).contains(",eee5,false,"));
+    }
+
+    @Test
+    @DisplayName("2. NDJSON: un objeto JSON por línea")
+    void testExportNdjson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        dnaExportService.export(DnaExportService.Format.NDJSON, output);
+
+        List<String> lines = gunzipLines(output.toByteArray());
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":"));
+        assertTrue(lines.get(0).contains("\"dnaHash\":\"aaa1\",\"isMutant\":true"));
+    }
+
+    @Test
+    @DisplayName("3. Formato desconocido lanza InvalidExportFormatException")
+    void testUnknownFormat() {
+        assertEquals(DnaExportService.Format.CSV, DnaExportService.Format.from("CSV"));
+        assertThrows(InvalidExportFormatException.class, () -> DnaExportService.Format.from("xml"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada lote hace commit propio
+@Import({DnaRetentionService.class, StatsService.class, DnaShards.class})
+@TestPropertySource(properties = {"mutant.retention.batch-size=2", "mutant.retention.pause-ms=0"})
+class DnaRetentionServiceTest {
+
+    @Autowired
+    private DnaRetentionService dnaRetentionService;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @Autowired
+    private ArchivedStatsRepository archivedStatsRepository;
+
+    @Test
+    @DisplayName("1. Purga en lotes los registros vencidos y /stats mantiene los totales")
+    void testPurgeKeepsStatsTotals() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(DnaRecord.builder().dnaHash("hash-" + i).isMutant(i % 2 == 0).build());
+        }
+        long mutantsBefore = statsService.getStats().getCountMutantDna();
+        long humansBefore = statsService.getStats().getCountHumanDna();
+
+        long purged = dnaRetentionService.purgeOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(5, purged);
+        assertEquals(0, repository.count());
+        assertEquals(mutantsBefore, statsService.getStats().getCountMutantDna());
+        assertEquals(humansBefore, statsService.getStats().getCountHumanDna());
+        ArchivedStats archived = archivedStatsRepository.findById(ArchivedStats.SINGLETON_ID).orElseThrow();
+        assertEquals(3, archived.getMutantCount());
+        assertEquals(2, archived.getHumanCount());
+
+        archivedStatsRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("2. Los registros recientes no se tocan")
+    void testRecentRecordsAreKept() {
+        repository.save(DnaRecord.builder().dnaHash("reciente").isMutant(true).build());
+
+        long purged = dnaRetentionService.purgeOlderThan(LocalDateTime.now().minusDays(1));
+
+        assertEquals(0, purged);
+        assertEquals(1, repository.count());
+
+        repository.deleteAll();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
+import com.mutantes.mutant_detector.config.DetectionExecutorConfig;
+import com.mutantes.mutant_detector.dto.ReverificationResponse;
+import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.entity.DnaSample;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada lote hace commit propio
+@Import({DnaReverificationService.class, DnaShards.class, DetectionExecutorConfig.class, PackedDnaCodec.class})
+@TestPropertySource(properties = {"mutant.reverify.page-size=2", "mutant.reverify.pause-ms=0"})
+class DnaReverificationServiceTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    @Autowired
+    private DnaReverificationService dnaReverificationService;
+
+    @Autowired
+    private DnaRecordRepository recordRepository;
+
+    @Autowired
+    private DnaSampleRepository sampleRepository;
+
+    @AfterEach
+    void cleanUp() {
+        sampleRepository.deleteAll();
+        recordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("1. Corrige los veredictos que no coinciden con el detector actual")
+    void testFlipsStaleVerdicts() {
+        Long wrongMutant = store("h1", HUMAN, true);
+        Long wrongHuman = store("h2", MUTANT, false);
+        Long okMutant = store("h3", MUTANT, true);
+
+        dnaReverificationService.run();
+
+        assertFalse(recordRepository.findById(wrongMutant).orElseThrow().isMutant());
+        assertTrue(recordRepository.findById(wrongHuman).orElseThrow().isMutant());
+        assertTrue(recordRepository.findById(okMutant).orElseThrow().isMutant());
+        ReverificationResponse status = dnaReverificationService.status();
+        assertEquals(3, status.getProcessed());
+        assertEquals(2, status.getChanged());
+        assertEquals(0, status.getFailed());
+    }
+
+    @Test
+    @DisplayName("2. Una muestra corrupta se cuenta como fallida y no detiene el resto")
+    void testCorruptSampleIsCounted() {
+        DnaRecord record = recordRepository.save(DnaRecord.builder().dnaHash("roto").isMutant(true).build());
+        sampleRepository.save(new DnaSample(record.getId(), new byte[]{0, 0}));
+        Long stale = store("h4", HUMAN, true);
+
+        dnaReverificationService.run();
+
+        assertFalse(recordRepository.findById(stale).orElseThrow().isMutant());
+        assertEquals(1, dnaReverificationService.status().getFailed());
+    }
+
+    private Long store(String hash, String[] dna, boolean isMutant) {
+        DnaRecord record = recordRepository.save(DnaRecord.builder().dnaHash(hash).isMutant(isMutant).build());
+        byte[][] matrix = Arrays.stream(dna).map(row -> row.getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+        sampleRepository.save(new DnaSample(record.getId(), PackedDnaCodec.encode(matrix)));
+        return record.getId();
+    }
+}
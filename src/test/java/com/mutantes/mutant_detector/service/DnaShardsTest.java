@@ -0,0 +1,53 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.config.ShardContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaShardsTest {
+
+    private final DnaShards shards = new DnaShards(4);
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    @DisplayName("1. El shard se elige por prefijo del hash")
+    void testShardByPrefix() {
+        assertEquals(0, shards.shardOf("0000abcd"));
+        assertEquals(1, shards.shardOf("0001abcd"));
+        assertEquals(3, shards.shardOf("ffffabcd")); // 65535 % 4
+        assertEquals(0, new DnaShards(1).shardOf("ffffabcd"));
+    }
+
+    @Test
+    @DisplayName("2. La operación corre con el shard fijado y luego se limpia el contexto")
+    void testOnShardOfSetsContext() {
+        Integer seen = shards.onShardOf("0002abcd", ShardContext::current);
+
+        assertEquals(2, seen);
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    @DisplayName("3. Los conteos se suman consultando todos los shards")
+    void testSumAcrossShards() {
+        Set<Integer> visited = ConcurrentHashMap.newKeySet();
+
+        long total = shards.sumAcrossShards(shard -> {
+            visited.add(ShardContext.current());
+            return shard + 1;
+        });
+
+        assertEquals(1 + 2 + 3 + 4, total);
+        assertEquals(Set.of(0, 1, 2, 3), visited);
+    }
+}
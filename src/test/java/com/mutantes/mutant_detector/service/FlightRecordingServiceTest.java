@@ -0,0 +1,64 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.RecordingInProgressException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private final FlightRecordingService flightRecordingService = new FlightRecordingService(5);
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    @Test
+    @DisplayName("1. La grabación acotada incluye los eventos de detección con sus campos")
+    void testRecordingContainsDetectionEvents(@TempDir Path dir) throws Exception {
+        CompletableFuture<Path> recording = flightRecordingService.record(1);
+        String[] mutant = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        for (int i = 0; i < 10; i++) {
+            mutantDetector.isMutant(mutant);
+        }
+
+        Path dump = recording.get(30, TimeUnit.SECONDS);
+        Path file = dir.resolve("mutant.jfr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            flightRecordingService.transfer(dump, out);
+        }
+        assertFalse(Files.exists(dump)); // El temporal se borra al transferirlo
+
+        List<RecordedEvent> detections = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.mutantes.Detection"))
+                .toList();
+
+        assertFalse(detections.isEmpty());
+        RecordedEvent detection = detections.get(0);
+        assertEquals(6, detection.getInt("n"));
+        assertEquals("sequential", detection.getString("strategy"));
+        assertTrue(detection.getBoolean("mutant"));
+        assertTrue(detection.getInt("earlyExitRow") >= 0);
+    }
+
+    @Test
+    @DisplayName("2. Con una grabación en curso se rechaza otra hasta que termina")
+    void testOnlyOneRecordingAtATime() throws Exception {
+        CompletableFuture<Path> first = flightRecordingService.record(1);
+
+        assertThrows(RecordingInProgressException.class, () -> flightRecordingService.record(1));
+
+        Path dump = first.get(30, TimeUnit.SECONDS);
+        flightRecordingService.transfer(dump, OutputStream.nullOutputStream());
+        CompletableFuture<Path> next = flightRecordingService.record(1);
+        flightRecordingService.transfer(next.get(30, TimeUnit.SECONDS), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,56 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JitWarmupTest {
+
+    @Mock
+    private DnaRecordRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JitWarmup warmup(boolean enabled, long budgetMillis) {
+        return new JitWarmup(new MutantDetector(), repository, new DnaShards(1), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                "jdbc:h2:mem:warmup-test", enabled, budgetMillis, 5);
+    }
+
+    @Test
+    @DisplayName("1. Ejercita detección y BD sin escribir en la base real y marca el readiness como no listo")
+    void testWarmupNeverWritesLiveDatabase() {
+        JitWarmup warmup = warmup(true, 200);
+        warmup.run(new DefaultApplicationArguments());
+
+        verify(eventPublisher).publishEvent(any(AvailabilityChangeEvent.class));
+        verify(repository, atLeastOnce()).findIsMutantByDnaHash(anyString());
+        // Los inserts van a la base de descarte
+        verify(repository, never()).save(any());
+        // La base de descarte se borra al terminar: otra corrida la vuelve a crear vacía
+        assertTrue(warmup.warmUp() > 0);
+    }
+
+    @Test
+    @DisplayName("2. Deshabilitado no hace nada")
+    void testDisabledWarmupDoesNothing() {
+        warmup(false, 200).run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(repository, eventPublisher);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.dto.MotifSearchResponse;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotifSearchServiceTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final List<String> HOMOPOLYMERS = List.of("AAAA", "CCCC", "GGGG", "TTTT");
+
+    private final MotifSearchService sequential = new MotifSearchService(ForkJoinPool.commonPool(), 64, 256, 100, 10_000);
+    private final MotifSearchService parallel = new MotifSearchService(ForkJoinPool.commonPool(), 64, 256, 100, 1);
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int r = 0; r < n; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < n; c++) {
+                row.append("ACGT".charAt(random.nextInt(4)));
+            }
+            dna[r] = row.toString();
+        }
+        return dna;
+    }
+
+    private static MotifSearchResponse.MotifMatches matches(MotifSearchResponse response, String motif) {
+        return response.getMotifs().stream().filter(m -> m.getMotif().equals(motif)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("1. Encuentra las rachas del ADN mutante con su celda inicial y dirección")
+    void testFindsHomopolymerRuns() {
+        MotifSearchResponse response = sequential.search(MUTANT, HOMOPOLYMERS, 0);
+
+        assertEquals(3, response.getTotalMatches());
+        assertFalse(response.isThresholdReached());
+        assertEquals(List.of(new MotifSearchResponse.MotifPosition(4, 0, "HORIZONTAL")),
+                matches(response, "CCCC").getPositions());
+        assertEquals(List.of(new MotifSearchResponse.MotifPosition(0, 4, "VERTICAL")),
+                matches(response, "GGGG").getPositions());
+        assertEquals(List.of(new MotifSearchResponse.MotifPosition(0, 0, "DIAGONAL_DOWN")),
+                matches(response, "AAAA").getPositions());
+        assertEquals(0, matches(response, "TTTT").getCount());
+    }
+
+    @Test
+    @DisplayName("2. Motivos solapados y diagonales ↗ (lectura de abajo hacia arriba)")
+    void testOverlappingAndAntiDiagonal() {
+        String[] dna = {"AAAT", "AATA", "AAAA", "GAAA"};
+
+        MotifSearchResponse response = sequential.search(dna, List.of("AA", "AAA", "GAT"), 0);
+
+        //GAT en la diagonal ↗ que arranca en (3, 0)
+        assertEquals(List.of(new MotifSearchResponse.MotifPosition(3, 0, "DIAGONAL_UP")),
+                matches(response, "GAT").getPositions());
+        //"AAAT" aporta 2 coincidencias de AA y 1 de AAA en la primera fila
+        assertEquals(new MotifSearchResponse.MotifPosition(0, 0, "HORIZONTAL"), matches(response, "AA").getPositions().get(0));
+        assertEquals(new MotifSearchResponse.MotifPosition(0, 1, "HORIZONTAL"), matches(response, "AA").getPositions().get(1));
+        assertEquals(new MotifSearchResponse.MotifPosition(0, 0, "HORIZONTAL"), matches(response, "AAA").getPositions().get(0));
+    }
+
+    @Test
+    @DisplayName("3. Con las 4 rachas y stopAfter = 2 coincide con el veredicto de MutantDetector")
+    void testThresholdMatchesDetector() {
+        Random random = new Random(11);
+        for (int round = 0; round < 300; round++) {
+            String[] dna = randomDna(random, 4 + random.nextInt(30));
+
+            boolean expected = mutantDetector.isMutant(dna);
+
+            assertEquals(expected, sequential.search(dna, HOMOPOLYMERS, 2).isThresholdReached());
+            assertEquals(expected, parallel.search(dna, HOMOPOLYMERS, 2).isThresholdReached());
+        }
+    }
+
+    @Test
+    @DisplayName("4. El recorrido paralelo devuelve los mismos conteos y posiciones que el secuencial")
+    void testParallelMatchesSequential() {
+        Random random = new Random(3);
+        List<String> motifs = List.of("ACG", "CGT", "GATTACA", "TT", "ATCGA");
+        for (int round = 0; round < 20; round++) {
+            String[] dna = randomDna(random, 20 + random.nextInt(100));
+
+            assertEquals(sequential.search(dna, motifs, 0), parallel.search(dna, motifs, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("5. Rechaza motivos vacíos o con caracteres inválidos")
+    void testRejectsInvalidMotifs() {
+        assertThrows(InvalidDnaException.class, () -> sequential.search(MUTANT, List.of("ACXG"), 0));
+        assertThrows(InvalidDnaException.class, () -> sequential.search(MUTANT, List.of(""), 0));
+        assertThrows(InvalidDnaException.class, () -> sequential.search(MUTANT, List.of(), 0));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mutantes.mutant_detector.service;
 
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
 import com.mutantes.mutant_detector.exception.InvalidDnaException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -304,4 +305,48 @@ class MutantDetectorTest {
         };
         assertThrows(InvalidDnaException.class, () -> mutantDetector.isMutant(dna));
     }
+
+    @Test
+    @DisplayName("24. Matriz de bytes (formato binario) - Mismo resultado que String[]")
+    void testMatrixVariant() {
+        byte[][] mutant = {
+                "AAAA".getBytes(), "CCCC".getBytes(), "TCAG".getBytes(), "GGTC".getBytes()
+        };
+        byte[][] human = {
+                "ATGC".getBytes(), "CAGT".getBytes(), "TTAT".getBytes(), "AGAC".getBytes()
+        };
+        assertTrue(mutantDetector.isMutantMatrix(mutant));
+        assertFalse(mutantDetector.isMutantMatrix(human));
+        assertThrows(InvalidDnaException.class,
+                () -> mutantDetector.isMutantMatrix(new byte[][]{"AAA".getBytes(), "AAAA".getBytes()}));
+    }
+
+    @Test
+    @DisplayName("25. Deadline vencido -> DetectionTimeoutException (secuencial y paralela)")
+    void testExpiredDeadline() {
+        String[] small = {"ATGC", "CAGT", "TTAT", "AGAC"};
+        String[] large = new String[40];
+        java.util.Arrays.fill(large, "ATGC".repeat(10));
+
+        DetectionDeadline.set(System.nanoTime() - 1);
+        try {
+            assertThrows(DetectionTimeoutException.class, () -> mutantDetector.isMutant(small));
+            assertThrows(DetectionTimeoutException.class, () -> mutantDetector.isMutant(large));
+        } finally {
+            DetectionDeadline.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("26. Deadline holgado -> Mismo resultado que sin deadline")
+    void testGenerousDeadline() {
+        String[] dna = {"AAAA", "CCCC", "TCAG", "GGTC"};
+
+        DetectionDeadline.set(System.nanoTime() + 10_000_000_000L);
+        try {
+            assertTrue(mutantDetector.isMutant(dna));
+        } finally {
+            DetectionDeadline.clear();
+        }
+    }
 }
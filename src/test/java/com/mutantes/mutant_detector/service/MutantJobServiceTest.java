@@ -0,0 +1,182 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.exception.JobNotFoundException;
+import com.mutantes.mutant_detector.exception.PayloadTooLargeException;
+import com.mutantes.mutant_detector.exception.TooManyJobsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MutantJobServiceTest {
+
+    @Mock
+    private MutantService mutantService;
+
+    private MutantJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        // 1 worker y cola de 1 para poder llenarla en los tests; presupuesto de 20 celdas
+        jobService = new MutantJobService(mutantService, 1, 1, 0, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("1. Job nuevo -> Se ejecuta en segundo plano y termina DONE")
+    void testJobCompletes() throws Exception {
+        String[] dna = {"AAAA", "CCCC", "TCAG", "GGTC"};
+        when(mutantService.calculateHash(dna)).thenReturn("hash-1");
+        when(mutantService.findVerdict("hash-1")).thenReturn(Optional.empty());
+        when(mutantService.verifyAndSave(dna)).thenReturn(true);
+
+        MutantJob job = jobService.submit(dna);
+        job.getCompletion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(MutantJob.Status.DONE, job.getStatus());
+        assertTrue(job.getMutant());
+        assertSame(job, jobService.get(job.getId()));
+    }
+
+    @Test
+    @DisplayName("2. Mismo ADN dos veces -> Un solo job (deduplicación por hash)")
+    void testDeduplicationByHash() {
+        String[] dna = {"AAAA", "CCCC", "TCAG", "GGTC"};
+        when(mutantService.calculateHash(any())).thenReturn("hash-1");
+        when(mutantService.findVerdict("hash-1")).thenReturn(Optional.of(false));
+
+        MutantJob first = jobService.submit(dna);
+        MutantJob second = jobService.submit(dna.clone());
+
+        assertSame(first, second);
+        // El veredicto ya estaba guardado: no se analiza de nuevo
+        assertEquals(MutantJob.Status.DONE, first.getStatus());
+        verify(mutantService, never()).verifyAndSave(any());
+    }
+
+    @Test
+    @DisplayName("3. Cola llena -> TooManyJobsException (429)")
+    void testQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mutantService.calculateHash(any())).thenReturn("h1", "h2", "h3");
+        when(mutantService.findVerdict(any())).thenReturn(Optional.empty());
+        when(mutantService.verifyAndSave(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        MutantJob running = jobService.submit(new String[]{"A"}); // ocupa el worker
+        while (running.getStatus() != MutantJob.Status.RUNNING) {
+            Thread.onSpinWait();
+        }
+        jobService.submit(new String[]{"C"}); // ocupa la cola
+
+        assertThrows(TooManyJobsException.class, () -> jobService.submit(new String[]{"G"}));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("4. Jobs terminados con TTL vencido -> Se eliminan")
+    void testEvictExpired() throws Exception {
+        when(mutantService.calculateHash(any())).thenReturn("hash-1");
+        when(mutantService.findVerdict("hash-1")).thenReturn(Optional.of(true));
+
+        MutantJob job = jobService.submit(new String[]{"A"});
+        Thread.sleep(5);
+        jobService.evictExpired();
+
+        assertThrows(JobNotFoundException.class, () -> jobService.get(job.getId()));
+    }
+
+    @Test
+    @DisplayName("5. Duplicado de un job rechazado por cola llena -> Lo ve FAILED, no queda esperando")
+    void testDuplicateOfRejectedJobFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch duplicateSubmitted = new CountDownLatch(1);
+        AtomicReference<MutantJob> duplicate = new AtomicReference<>();
+        String[] dna = {"GGGG", "CCCC", "TCAG", "GGTC"};
+        when(mutantService.calculateHash(any())).thenReturn("h1", "h2", "h3", "h3");
+        when(mutantService.verifyAndSave(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(mutantService.findVerdict(any())).thenReturn(Optional.empty());
+        // El duplicado llega mientras el primero todavía consulta la BD (antes de encolarse)
+        when(mutantService.findVerdict("h3")).thenAnswer(invocation -> {
+            Thread other = new Thread(() -> {
+                duplicate.set(jobService.submit(dna));
+                duplicateSubmitted.countDown();
+            });
+            other.start();
+            assertTrue(duplicateSubmitted.await(5, TimeUnit.SECONDS));
+            return Optional.empty();
+        });
+
+        MutantJob running = jobService.submit(new String[]{"A"}); // ocupa el worker
+        while (running.getStatus() != MutantJob.Status.RUNNING) {
+            Thread.onSpinWait();
+        }
+        jobService.submit(new String[]{"C"}); // ocupa la cola
+
+        assertThrows(TooManyJobsException.class, () -> jobService.submit(dna));
+        MutantJob shared = duplicate.get();
+        shared.getCompletion().get(1, TimeUnit.SECONDS);
+        assertEquals(MutantJob.Status.FAILED, shared.getStatus());
+        assertSame(shared, jobService.get(shared.getId())); // Consultable hasta que venza el TTL
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("6. Presupuesto de celdas agotado -> TooManyJobsException y se libera al terminar")
+    void testCellBudgetExhausted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        String[] dna = {"AAAA", "CCCC", "TCAG", "GGTC"};
+        when(mutantService.calculateHash(any())).thenReturn("h1", "h2", "h3");
+        when(mutantService.findVerdict(any())).thenReturn(Optional.empty());
+        when(mutantService.verifyAndSave(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        MutantJob running = jobService.submit(dna); // 16 de las 20 celdas
+        assertEquals(16, jobService.queuedCells());
+
+        // La cola tiene lugar, pero no la memoria
+        assertThrows(TooManyJobsException.class, () -> jobService.submit(dna.clone()));
+
+        release.countDown();
+        running.getCompletion().get(5, TimeUnit.SECONDS);
+        while (jobService.queuedCells() != 0) {
+            Thread.onSpinWait();
+        }
+        MutantJob next = jobService.submit(dna.clone());
+        next.getCompletion().get(5, TimeUnit.SECONDS);
+        assertEquals(MutantJob.Status.DONE, next.getStatus());
+    }
+
+    @Test
+    @DisplayName("7. Matriz más grande que todo el presupuesto -> PayloadTooLargeException (413)")
+    void testMatrixLargerThanBudget() {
+        String[] dna = {"AAAAA", "CCCCC", "TCAGT", "GGTCA", "ATGCA"};
+
+        assertThrows(PayloadTooLargeException.class, () -> jobService.submit(dna));
+        verify(mutantService, never()).calculateHash(any());
+    }
+}
@@ -1,20 +1,28 @@
 package com.mutantes.mutant_detector.service;
 
+import com.mutantes.mutant_detector.codec.PackedDnaCodec;
 import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
 import com.mutantes.mutant_detector.exception.InvalidDnaException;
 import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import com.mutantes.mutant_detector.repository.DnaSampleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.Arrays;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -26,11 +34,28 @@ class MutantServiceTest {
 
     @Mock
     private MutantDetector mutantDetector; // Mock del algoritmo
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mock de eventos (caché de /stats)
+
+    @Mock
+    private PeerVerdictService peerVerdictService; // Modo peer (deshabilitado salvo que se configure)
+
+    @Mock
+    private DnaSampleRepository sampleRepository; // ADN empaquetado (opcional)
+
+    @Mock
+    private PlatformTransactionManager transactionManager; // Transacción de veredicto + muestra
     private MutantService mutantService;
     @BeforeEach
     void setUp() {
         // Inyección manual: Tú mismo le pasas los mocks falsos
-        mutantService = new MutantService(mutantDetector, repository);
+        mutantService = service(false, false);
+    }
+
+    private MutantService service(boolean canonicalHashing, boolean storePackedDna) {
+        return new MutantService(mutantDetector, repository, eventPublisher, peerVerdictService, new DnaShards(1), sampleRepository,
+                transactionManager, canonicalHashing, storePackedDna);
     }
 
     @Test
@@ -41,7 +66,7 @@ class MutantServiceTest {
 
         // SIMULACIÓN (Mocks)
         // 1. Cuando busque en BD, retorna vacío (no existe)
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
         // 2. Cuando analice el ADN, dice que ES mutante
         when(mutantDetector.isMutant(dna)).thenReturn(true);
 
@@ -54,6 +79,8 @@ class MutantServiceTest {
         // Verifica que se guardó en BD con isMutant = true
         // Usamos any(DnaRecord.class) para evitar errores con el objeto exacto
         verify(repository).save(argThat(record -> record.isMutant()));
+        // Un registro nuevo invalida la caché de estadísticas
+        verify(eventPublisher).publishEvent(any(DnaRecordsChangedEvent.class));
     }
 
     @Test
@@ -62,7 +89,7 @@ class MutantServiceTest {
         String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
 
         // No existe en BD, Detector dice false
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
         when(mutantDetector.isMutant(dna)).thenReturn(false);
 
         boolean result = mutantService.verifyAndSave(dna);
@@ -78,11 +105,8 @@ class MutantServiceTest {
     void testAnalyzeExistingMutant() {
         String[] dna = {"AAAA", "CCCC", "TCAG", "GGTC"};
 
-        // Simulamos que YA EXISTE un registro en la base de datos
-        DnaRecord existingRecord = new DnaRecord();
-        existingRecord.setMutant(true); // Usamos setter por si el Builder falla
-
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.of(existingRecord));
+        // Simulamos que YA EXISTE un registro en la base de datos (proyección del veredicto)
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.of(true));
 
         boolean result = mutantService.verifyAndSave(dna);
 
@@ -92,6 +116,7 @@ class MutantServiceTest {
         verify(mutantDetector, never()).isMutant(any());
         // CRÍTICO: Verificar que NO se intentó guardar de nuevo
         verify(repository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -99,10 +124,7 @@ class MutantServiceTest {
     void testAnalyzeExistingHuman() {
         String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
 
-        DnaRecord existingRecord = new DnaRecord();
-        existingRecord.setMutant(false);
-
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.of(existingRecord));
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.of(false));
 
         boolean result = mutantService.verifyAndSave(dna);
 
@@ -117,7 +139,7 @@ class MutantServiceTest {
         String[] dna = {null}; // ADN inválido
 
         // No existe en BD
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
 
         // El detector explota con nuestra excepción personalizada
         when(mutantDetector.isMutant(dna)).thenThrow(new InvalidDnaException("ADN Nulo"));
@@ -135,7 +157,7 @@ class MutantServiceTest {
         String[] dna = {"AAAA"};
 
         // Simulamos error de conexión DB
-        when(repository.findByDnaHash(any())).thenThrow(new RuntimeException("DB Error"));
+        when(repository.findIsMutantByDnaHash(any())).thenThrow(new RuntimeException("DB Error"));
 
         assertThrows(RuntimeException.class, () -> mutantService.verifyAndSave(dna));
 
@@ -148,7 +170,7 @@ class MutantServiceTest {
     void testRepositorySaveFails() {
         String[] dna = {"AAAA"};
 
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
         when(mutantDetector.isMutant(dna)).thenReturn(true);
 
         // Simulamos error al guardar (ej. disco lleno, constraint violation)
@@ -165,14 +187,14 @@ class MutantServiceTest {
         String[] dna2 = {"CCCC"};
 
         // Configuramos mocks relajados
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
         when(mutantDetector.isMutant(any())).thenReturn(true);
 
         mutantService.verifyAndSave(dna1);
         mutantService.verifyAndSave(dna2);
 
         // Se debe haber llamado al repositorio 2 veces
-        verify(repository, times(2)).findByDnaHash(anyString());
+        verify(repository, times(2)).findIsMutantByDnaHash(anyString());
         // Se debe haber llamado al detector 2 veces
         verify(mutantDetector, times(2)).isMutant(any());
     }
@@ -182,13 +204,138 @@ class MutantServiceTest {
     void testEmptyArrayProcessing() {
         String[] dna = {};
 
-        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
         // Simulamos que el detector hace su trabajo de lanzar la excepción por array vacío
         when(mutantDetector.isMutant(dna)).thenThrow(new InvalidDnaException("Empty"));
 
         assertThrows(InvalidDnaException.class, () -> mutantService.verifyAndSave(dna));
 
         // Lo importante es que el servicio intentó buscar el hash antes de fallar
-        verify(repository).findByDnaHash(anyString());
+        verify(repository).findIsMutantByDnaHash(anyString());
+    }
+
+    @Test
+    @DisplayName("10. ADN binario y ADN en JSON generan el mismo hash")
+    void testMatrixHashMatchesStringHash() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].getBytes();
+        }
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(dna)).thenReturn(false);
+        when(mutantDetector.isMutantMatrix(matrix)).thenReturn(false);
+
+        mutantService.verifyAndSave(dna);
+        mutantService.verifyAndSaveMatrix(matrix);
+
+        ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+        verify(repository, times(2)).findIsMutantByDnaHash(hashes.capture());
+        assertEquals(hashes.getAllValues().get(0), hashes.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("11. Modo peer: hash de otro nodo ya conocido por el dueño -> NO analiza ni guarda")
+    void testRemoteVerdictFromOwner() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(peerVerdictService.isRemote(anyString())).thenReturn(true);
+        when(peerVerdictService.lookup(anyString())).thenReturn(Optional.of(true));
+
+        assertTrue(mutantService.verifyAndSave(dna));
+
+        verify(mutantDetector, never()).isMutant(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("12. Modo peer: el dueño no lo conoce -> Analiza y se lo entrega al dueño")
+    void testRemoteVerdictPublishedToOwner() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(peerVerdictService.isRemote(anyString())).thenReturn(true);
+        when(peerVerdictService.lookup(anyString())).thenReturn(Optional.empty());
+        when(peerVerdictService.publish(anyString(), eq(false))).thenReturn(true);
+        when(mutantDetector.isMutant(dna)).thenReturn(false);
+
+        assertFalse(mutantService.verifyAndSave(dna));
+
+        // El registro queda en el nodo dueño, no localmente
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("13. Modo peer: el dueño no responde -> Guarda localmente")
+    void testRemoteOwnerDownFallsBackToLocal() {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(peerVerdictService.isRemote(anyString())).thenReturn(true);
+        when(peerVerdictService.lookup(anyString())).thenReturn(Optional.empty());
+        when(peerVerdictService.publish(anyString(), eq(true))).thenReturn(false);
+        when(mutantDetector.isMutant(dna)).thenReturn(true);
+
+        assertTrue(mutantService.verifyAndSave(dna));
+
+        verify(repository).save(argThat(record -> record.isMutant()));
+    }
+
+    @Test
+    @DisplayName("14. Hash canónico: una matriz rotada y con letras permutadas comparte hash")
+    void testCanonicalHashSharedByEquivalentMatrices() {
+        mutantService = service(true, false);
+        String[] dna = {"AAAT", "CGTC", "GGAC", "TTTA"};
+        // Rotación 90° horaria + intercambio A<->T
+        String[] rotated = {"AGCT", "AGGT", "ATAT", "TCCA"};
+
+        assertEquals(mutantService.calculateHash(dna), mutantService.calculateHash(rotated));
+        assertNotEquals(mutantService.calculateHash(dna), mutantService.calculateHash(new String[]{"AAAT", "CGTC", "GGAC", "TTTT"}));
+        // ADN inválido conserva el hash crudo (el detector reporta el error)
+        assertDoesNotThrow(() -> mutantService.calculateHash(new String[]{"ATG", null}));
+    }
+
+    @Test
+    @DisplayName("15. Con almacenamiento empaquetado activo guarda la muestra junto al veredicto")
+    void testStoresPackedSampleWhenEnabled() {
+        mutantService = service(false, true);
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(dna)).thenReturn(true);
+        when(repository.save(any(DnaRecord.class))).thenAnswer(invocation -> {
+            DnaRecord record = invocation.getArgument(0);
+            record.setId(7L);
+            return record;
+        });
+
+        assertTrue(mutantService.verifyAndSave(dna));
+
+        byte[][] matrix = new byte[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].getBytes();
+        }
+        verify(sampleRepository).save(argThat(sample -> sample.getRecordId() == 7L
+                && Arrays.equals(sample.getPacked(), PackedDnaCodec.encode(matrix))));
+    }
+
+    @Test
+    @DisplayName("16. Si falla el guardado de la muestra -> Se revierte también el veredicto")
+    void testSampleFailureRollsBackVerdict() {
+        mutantService = service(false, true);
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        when(repository.findIsMutantByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(dna)).thenReturn(true);
+        when(repository.save(any(DnaRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sampleRepository.save(any())).thenThrow(new DataIntegrityViolationException("dna_samples"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> mutantService.verifyAndSave(dna));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
-}
\ No newline at end of file
+}
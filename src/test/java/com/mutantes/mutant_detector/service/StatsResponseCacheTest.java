@@ -0,0 +1,92 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsResponseCacheTest {
+
+    @Mock
+    private StatsService statsService;
+
+    private StatsResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // TTL largo: solo los eventos de cambio invalidan la caché
+        cache = new StatsResponseCache(statsService, new ObjectMapper(), 60_000);
+    }
+
+    @Test
+    @DisplayName("1. Dentro del TTL y sin cambios -> Reutiliza los mismos bytes")
+    void testReusesSnapshotWithoutChanges() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+
+        StatsResponseCache.Snapshot first = cache.current();
+        StatsResponseCache.Snapshot second = cache.current();
+
+        assertSame(first, second);
+        verify(statsService, times(1)).getStats();
+    }
+
+    @Test
+    @DisplayName("2. Evento de cambio con nuevos datos -> Recalcula y cambia el ETag")
+    void testChangeEventRefreshesSnapshot() {
+        when(statsService.getStats())
+                .thenReturn(new StatsResponse(40L, 100L, 0.4))
+                .thenReturn(new StatsResponse(41L, 100L, 0.41));
+
+        StatsResponseCache.Snapshot first = cache.current();
+        cache.onRecordsChanged(new DnaRecordsChangedEvent(1));
+        StatsResponseCache.Snapshot second = cache.current();
+
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertTrue(new String(second.getBody()).contains("\"count_mutant_dna\":41"));
+    }
+
+    @Test
+    @DisplayName("3. Evento de cambio sin cambios reales -> Conserva el ETag")
+    void testSameContentKeepsEtag() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+
+        StatsResponseCache.Snapshot first = cache.current();
+        cache.onRecordsChanged(new DnaRecordsChangedEvent(1));
+        StatsResponseCache.Snapshot second = cache.current();
+
+        assertNotSame(first, second);
+        assertEquals(first.getEtag(), second.getEtag());
+    }
+
+    @Test
+    @DisplayName("4. If-None-Match admite listas, ETags débiles y comodín")
+    void testEtagMatching() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(0L, 0L, 0.0));
+        StatsResponseCache.Snapshot snapshot = cache.current();
+
+        assertTrue(snapshot.matches(snapshot.getEtag()));
+        assertTrue(snapshot.matches("\"x\", W/" + snapshot.getEtag()));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"x\""));
+        assertFalse(snapshot.matches(null));
+    }
+
+    @Test
+    @DisplayName("5. Mismo contenido en otra instancia (o tras reiniciar) -> Mismo ETag")
+    void testEtagIsStableAcrossInstances() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+
+        StatsResponseCache other = new StatsResponseCache(statsService, new ObjectMapper(), 60_000);
+
+        assertEquals(cache.current().getEtag(), other.current().getEtag());
+    }
+}
@@ -1,6 +1,8 @@
 package com.mutantes.mutant_detector.service;
 
 import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.entity.ArchivedStats;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
 import com.mutantes.mutant_detector.repository.DnaRecordRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
@@ -20,11 +24,14 @@ class StatsServiceTest {
     @Mock
     private DnaRecordRepository repository;
 
+    @Mock
+    private ArchivedStatsRepository archivedStatsRepository; // Totales purgados por la retención
+
     private StatsService statsService;
     @BeforeEach
     void setUp() {
         // Inyección manual: Tú mismo le pasas los mocks falsos
-        statsService = new StatsService(repository);
+        statsService = new StatsService(repository, new DnaShards(1), archivedStatsRepository);
     }
 
     @Test
@@ -100,4 +107,19 @@ class StatsServiceTest {
         assertEquals(0L, response.getCountHumanDna());
         assertEquals(0.0, response.getRatio());
     }
+
+    @Test
+    @DisplayName("6. Caso Retención: suma los totales archivados a los registros vivos")
+    void testStatsIncludeArchivedCounts() {
+        when(repository.countByIsMutant(true)).thenReturn(10L);
+        when(repository.countByIsMutant(false)).thenReturn(20L);
+        when(archivedStatsRepository.findById(ArchivedStats.SINGLETON_ID))
+                .thenReturn(Optional.of(new ArchivedStats(ArchivedStats.SINGLETON_ID, 30L, 20L)));
+
+        StatsResponse response = statsService.getStats();
+
+        assertEquals(40L, response.getCountMutantDna());
+        assertEquals(40L, response.getCountHumanDna());
+        assertEquals(1.0, response.getRatio());
+    }
 }
@@ -0,0 +1,134 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.event.DnaRecordsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsStreamServiceTest {
+
+    @Mock
+    private StatsService statsService;
+
+    private StatsResponseCache cache;
+    private StatsStreamService streamService;
+
+    //Registra lo enviado en lugar de escribirlo en una respuesta HTTP
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private boolean disconnected;
+        private boolean completed;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(items);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // TTL largo: solo los eventos de cambio invalidan la caché
+        cache = new StatsResponseCache(statsService, new ObjectMapper(), 60_000);
+        // Envío en el mismo hilo: los ticks quedan deterministas
+        streamService = new StatsStreamService(cache, 60_000, 4, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("1. Al suscribirse recibe el estado actual")
+    void testSubscriberReceivesCurrentStats() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        streamService.register(emitter);
+
+        assertEquals(1, emitter.sent.size());
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("2. Varios cambios dentro del intervalo -> Un solo evento, el mismo para todos")
+    void testChangesAreCoalescedAndShared() {
+        when(statsService.getStats())
+                .thenReturn(new StatsResponse(40L, 100L, 0.4))
+                .thenReturn(new StatsResponse(43L, 100L, 0.43));
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        streamService.register(first);
+        streamService.register(second);
+        streamService.broadcastChanges(); // Sin cambios todavía
+
+        cache.onRecordsChanged(new DnaRecordsChangedEvent(1));
+        cache.onRecordsChanged(new DnaRecordsChangedEvent(1));
+        cache.onRecordsChanged(new DnaRecordsChangedEvent(1));
+        streamService.broadcastChanges();
+        streamService.broadcastChanges(); // Sin cambios nuevos: no reenvía
+
+        assertEquals(2, first.sent.size());
+        assertEquals(2, second.sent.size());
+        assertSame(first.sent.get(1), second.sent.get(1)); // Serializado una sola vez
+        assertNotSame(first.sent.get(0), first.sent.get(1));
+        verify(statsService, times(2)).getStats();
+    }
+
+    @Test
+    @DisplayName("3. Un suscriptor desconectado se descarta sin afectar al resto")
+    void testDisconnectedSubscriberIsDropped() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+        RecordingEmitter alive = new RecordingEmitter();
+        RecordingEmitter gone = new RecordingEmitter();
+        streamService.register(alive);
+        streamService.register(gone);
+
+        gone.disconnected = true;
+        streamService.sendHeartbeat();
+
+        assertEquals(1, streamService.getSubscriberCount());
+        assertEquals(2, alive.sent.size());
+    }
+
+    @Test
+    @DisplayName("4. Un suscriptor que no consume se desconecta al llenarse su cola, sin frenar el tick")
+    void testSlowSubscriberIsDropped() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(40L, 100L, 0.4));
+        // Pool de envío saturado: las tareas quedan pendientes y la cola del suscriptor se llena
+        List<Runnable> pending = new ArrayList<>();
+        Executor stuck = pending::add;
+        StatsStreamService service = new StatsStreamService(cache, 60_000, 2, stuck);
+        RecordingEmitter slow = new RecordingEmitter();
+        service.register(slow);
+
+        service.sendHeartbeat();
+        service.sendHeartbeat();
+        assertEquals(1, service.getSubscriberCount()); // Cola llena pero todavía dentro del límite
+        service.sendHeartbeat();
+
+        assertEquals(0, service.getSubscriberCount());
+        pending.forEach(Runnable::run);
+        assertTrue(slow.completed);
+    }
+}
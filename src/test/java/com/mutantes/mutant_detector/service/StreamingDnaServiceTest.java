@@ -0,0 +1,90 @@
+package com.mutantes.mutant_detector.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mutantes.mutant_detector.exception.DetectionTimeoutException;
+import com.mutantes.mutant_detector.exception.InvalidDnaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingDnaServiceTest {
+
+    @Mock
+    private MutantService mutantService;
+
+    private StreamingDnaService streamingDnaService;
+
+    @BeforeEach
+    void setUp() {
+        streamingDnaService = new StreamingDnaService(new ObjectMapper(), mutantService, false);
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("1. Usa el mismo hash que /mutant y guarda el veredicto")
+    void testSameHashAsInMemory() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String expectedHash = new MutantService(null, null, null, null, null, null, null, false, false).calculateHash(dna);
+        when(mutantService.findOrDetect(eq(expectedHash), any()))
+                .thenAnswer(inv -> ((BooleanSupplier) inv.getArgument(1)).getAsBoolean());
+
+        boolean result = streamingDnaService.verifyAndSave(json(
+                "{\"extra\":{\"a\":[1,2]},\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"));
+
+        assertTrue(result);
+        verify(mutantService).findOrDetect(eq(expectedHash), any());
+    }
+
+    @Test
+    @DisplayName("2. Filas nulas o JSON mal formado lanzan InvalidDnaException")
+    void testInvalidBody() {
+        assertThrows(InvalidDnaException.class,
+                () -> streamingDnaService.verifyAndSave(json("{\"dna\":[\"ATGC\",null]}")));
+        assertThrows(InvalidDnaException.class,
+                () -> streamingDnaService.verifyAndSave(json("{\"dna\":[\"ATGC\"")));
+        assertThrows(InvalidDnaException.class,
+                () -> streamingDnaService.verifyAndSave(json("{\"otro\":1}")));
+        verifyNoInteractions(mutantService);
+    }
+
+    @Test
+    @DisplayName("3. Deadline vencido -> DetectionTimeoutException sin guardar el veredicto")
+    void testExpiredDeadline() {
+        DetectionDeadline.set(System.nanoTime() - 1);
+        try {
+            assertThrows(DetectionTimeoutException.class,
+                    () -> streamingDnaService.verifyAndSave(json("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"]}")));
+        } finally {
+            DetectionDeadline.clear();
+        }
+        verifyNoInteractions(mutantService);
+    }
+
+    @Test
+    @DisplayName("4. Con hash canónico -> Responde el veredicto sin buscarlo ni guardarlo con el hash crudo")
+    void testCanonicalHashingDoesNotSaveRawHash() throws Exception {
+        StreamingDnaService canonical = new StreamingDnaService(new ObjectMapper(), mutantService, true);
+
+        boolean result = canonical.verifyAndSave(json(
+                "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"));
+
+        assertTrue(result);
+        verifyNoInteractions(mutantService);
+    }
+}
@@ -0,0 +1,139 @@
+package com.mutantes.mutant_detector.service;
+
+import com.mutantes.mutant_detector.MutantDetectorApplication;
+import com.mutantes.mutant_detector.dto.StatsResponse;
+import com.mutantes.mutant_detector.entity.DnaRecord;
+import com.mutantes.mutant_detector.repository.ArchivedStatsRepository;
+import com.mutantes.mutant_detector.repository.DnaRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Las inserciones JDBC hacen commit propio
+@Import({StatsService.class, DnaShards.class})
+class VerdictSnapshotServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DnaShards dnaShards;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @Autowired
+    private ArchivedStatsRepository archivedStatsRepository;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        archivedStatsRepository.deleteAll();
+    }
+
+    private VerdictSnapshotService snapshot(Path path, int maxEntries) {
+        return new VerdictSnapshotService(dataSource, dnaShards, statsService, archivedStatsRepository,
+                true, path.toString(), maxEntries);
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i + 1);
+    }
+
+    @Test
+    @DisplayName("1. Un arranque en frío recarga los veredictos recientes y conserva los totales de /stats")
+    void testReloadKeepsRecentVerdictsAndTotals() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(DnaRecord.builder().dnaHash(hash(i)).isMutant(i % 2 == 0).build());
+        }
+        StatsResponse before = statsService.getStats();
+        //Solo entran los 3 más recientes; el resto queda en los totales archivados
+        VerdictSnapshotService service = snapshot(dir.resolve("snapshots/verdicts.bin"), 3);
+        assertEquals(3, service.write());
+
+        cleanUp(); // Reinicio con la base en memoria
+        assertEquals(3, service.load());
+
+        assertEquals(3, repository.count());
+        assertEquals(Optional.empty(), repository.findIsMutantByDnaHash(hash(1)));
+        assertEquals(Optional.of(false), repository.findIsMutantByDnaHash(hash(3)));
+        assertEquals(Optional.of(true), repository.findIsMutantByDnaHash(hash(4)));
+        StatsResponse after = statsService.getStats();
+        assertEquals(before.getCountMutantDna(), after.getCountMutantDna());
+        assertEquals(before.getCountHumanDna(), after.getCountHumanDna());
+    }
+
+    @Test
+    @DisplayName("2. Un snapshot corrupto se ignora y la base ya cargada no se pisa")
+    void testCorruptOrRedundantSnapshotIsIgnored() throws Exception {
+        repository.save(DnaRecord.builder().dnaHash(hash(0)).isMutant(true).build());
+        Path path = dir.resolve("verdicts.bin");
+        VerdictSnapshotService service = snapshot(path, 10);
+        service.write();
+
+        assertEquals(0, service.load()); // La base no está vacía
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 10] ^= 1;
+        Files.write(path, bytes);
+        cleanUp();
+
+        assertEquals(0, service.load()); // CRC inválido: arranca en frío
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("3. Al cerrar la aplicación se escribe el snapshot y el próximo arranque lo recarga")
+    void testShutdownWritesSnapshotForNextStart() {
+        Path path = dir.resolve("verdicts.bin");
+        StatsResponse before;
+        try (ConfigurableApplicationContext first = startApplication(path)) {
+            DnaRecordRepository records = first.getBean(DnaRecordRepository.class);
+            records.save(DnaRecord.builder().dnaHash(hash(0)).isMutant(true).build());
+            records.save(DnaRecord.builder().dnaHash(hash(1)).isMutant(false).build());
+            before = first.getBean(StatsService.class).getStats();
+        } // close(): @PreDestroy escribe el snapshot con la base todavía abierta
+
+        //Base en memoria nueva (la anterior se descartó al cerrar el pool): simula el reinicio
+        try (ConfigurableApplicationContext second = startApplication(path)) {
+            DnaRecordRepository records = second.getBean(DnaRecordRepository.class);
+            assertEquals(2, records.count());
+            assertEquals(Optional.of(true), records.findIsMutantByDnaHash(hash(0)));
+            StatsResponse after = second.getBean(StatsService.class).getStats();
+            assertEquals(before.getCountMutantDna(), after.getCountMutantDna());
+            assertEquals(before.getCountHumanDna(), after.getCountHumanDna());
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(Path snapshot) {
+        return new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .properties("server.port=0",
+                        //Base propia: no se comparte con los contextos de otros tests
+                        "spring.datasource.url=jdbc:h2:mem:snapshot-restart;DB_CLOSE_ON_EXIT=FALSE",
+                        "mutant.snapshot.enabled=true",
+                        "mutant.snapshot.path=" + snapshot)
+                .run();
+    }
+}